@@ -1,13 +1,23 @@
 package com.dws.challenge;
 
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.dws.challenge.repository.AccountsRepository;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.BalanceAuditor;
+import com.dws.challenge.service.ChangeFeed;
 import com.dws.challenge.service.EmailNotificationService;
 import com.dws.challenge.service.NotificationService;
+import com.dws.challenge.web.AccountsController;
+import com.dws.challenge.web.AccountsPayloadCodec;
+import com.dws.challenge.web.ChangeFeedController;
 
 @SpringBootApplication
+@EnableScheduling
 public class ChallengeApplication {
 
 	public static void main(String[] args) {
@@ -19,4 +29,16 @@ public class ChallengeApplication {
 	public NotificationService notificationService() {
 		return new EmailNotificationService();
 	}
+
+	/**
+	 * Keeps the serving path and the beans with scheduled work eager when
+	 * spring.main.lazy-initialization is on. A lazy bean's @Scheduled methods
+	 * are only registered once something asks for the bean.
+	 */
+	@Bean
+	public static LazyInitializationExcludeFilter eagerServingBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(AccountsController.class, ChangeFeedController.class,
+				AccountsPayloadCodec.class, AccountsService.class, AccountsRepository.class, BalanceAuditor.class,
+				ChangeFeed.class);
+	}
 }
\ No newline at end of file
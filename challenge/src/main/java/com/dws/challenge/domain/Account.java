@@ -7,6 +7,7 @@ import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Data;
@@ -22,6 +23,10 @@ public class Account {
   @Min(value = 0, message = "Initial balance must be positive.")
   private BigDecimal balance;
 
+  /** Part of the balance reserved by authorized holds. */
+  @JsonIgnore
+  private BigDecimal heldBalance = BigDecimal.ZERO;
+
   public Account(String accountId) {
     this.accountId = accountId;
     this.balance = BigDecimal.ZERO;
@@ -33,4 +38,9 @@ public class Account {
     this.accountId = accountId;
     this.balance = balance;
   }
+
+  @JsonIgnore
+  public BigDecimal getAvailableBalance() {
+    return balance.subtract(heldBalance);
+  }
 }
@@ -0,0 +1,26 @@
+package com.dws.challenge.domain;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * 
+ * One committed balance change as published on the change feed. Sequence
+ * numbers start at 1 and follow commit order without gaps.
+ * 
+ */
+@Data
+public class BalanceChangeEvent {
+
+	public enum Type {
+		CREATED, DEBITED, CREDITED
+	}
+
+	private final long sequence;
+	private final Type type;
+	private final String accountId;
+	private final BigDecimal amount;
+	private final BigDecimal balance;
+	private final long timestamp;
+}
@@ -0,0 +1,29 @@
+package com.dws.challenge.domain;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * 
+ * Funds reserved on the source account until they are captured to the
+ * destination account, released, or the hold expires.
+ * 
+ */
+@Data
+public class Hold {
+
+	public enum Status {
+		AUTHORIZED, CAPTURED, RELEASED, EXPIRED
+	}
+
+	private final String holdId;
+	private final String fromAccount;
+	private final String toAccount;
+	private final BigDecimal amount;
+
+	/** Epoch millis after which the hold can no longer be captured. */
+	private final long expiresAt;
+
+	private Status status = Status.AUTHORIZED;
+}
@@ -0,0 +1,35 @@
+package com.dws.challenge.domain;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 
+ * This is supporting class for the authorize hold endpoint. The hold expires
+ * after ttlSeconds unless it is captured or released first.
+ * 
+ */
+@Data
+@NoArgsConstructor
+@ToString
+public class HoldRequest {
+	String fromAccount;
+	String toAccount;
+	BigDecimal amount;
+	Long ttlSeconds;
+
+	@JsonCreator
+	public HoldRequest(@JsonProperty("fromAccount") String fromAccount, @JsonProperty("toAccount") String toAccount,
+			@JsonProperty("amount") BigDecimal amount, @JsonProperty("ttlSeconds") Long ttlSeconds) {
+		this.fromAccount = fromAccount;
+		this.toAccount = toAccount;
+		this.amount = amount;
+		this.ttlSeconds = ttlSeconds;
+	}
+}
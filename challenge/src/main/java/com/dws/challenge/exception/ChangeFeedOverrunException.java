@@ -0,0 +1,7 @@
+package com.dws.challenge.exception;
+
+public class ChangeFeedOverrunException extends RuntimeException {
+	public ChangeFeedOverrunException(String message) {
+		super(message);
+	}
+}
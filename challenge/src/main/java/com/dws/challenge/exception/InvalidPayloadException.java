@@ -0,0 +1,7 @@
+package com.dws.challenge.exception;
+
+public class InvalidPayloadException extends RuntimeException {
+	public InvalidPayloadException(String message) {
+		super(message);
+	}
+}
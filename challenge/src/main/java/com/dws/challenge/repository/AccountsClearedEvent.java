@@ -0,0 +1,10 @@
+package com.dws.challenge.repository;
+
+/**
+ * 
+ * Published when all accounts are removed from the repository, so components
+ * keeping derived state can drop it.
+ * 
+ */
+public class AccountsClearedEvent {
+}
@@ -1,10 +1,15 @@
 package com.dws.challenge.repository;
 
+import java.util.function.Consumer;
+
 import com.dws.challenge.domain.Account;
 import com.dws.challenge.exception.DuplicateAccountIdException;
 
 public interface AccountsRepository {
 
+	/** Number of shards the accounts are partitioned into, a power of two. */
+	int SHARD_COUNT = 64;
+
 	void createAccount(Account account) throws DuplicateAccountIdException;
 
 	Account getAccount(String accountId);
@@ -12,4 +17,15 @@ public interface AccountsRepository {
 	public void updateAccount(Account account);
 
 	void clearAccounts();
-}
\ No newline at end of file
+
+	/**
+	 * Visits the accounts of one shard without locking, concurrent updates may
+	 * or may not be seen.
+	 */
+	void forEachAccount(int shard, Consumer<Account> action);
+
+	static int shardOf(String accountId) {
+		int hash = accountId.hashCode();
+		return (hash ^ (hash >>> 16)) & (SHARD_COUNT - 1);
+	}
+}
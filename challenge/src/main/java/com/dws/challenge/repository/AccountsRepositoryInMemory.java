@@ -2,19 +2,35 @@ package com.dws.challenge.repository;
 
 import com.dws.challenge.domain.Account;
 import com.dws.challenge.exception.DuplicateAccountIdException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Repository
 public class AccountsRepositoryInMemory implements AccountsRepository {
 
-	private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final List<Map<String, Account>> shards = new ArrayList<>(SHARD_COUNT);
+
+	@Autowired
+	public AccountsRepositoryInMemory(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+		for (int shard = 0; shard < SHARD_COUNT; shard++) {
+			shards.add(new ConcurrentHashMap<>());
+		}
+	}
 
 	@Override
 	public void createAccount(Account account) throws DuplicateAccountIdException {
-		Account previousAccount = accounts.putIfAbsent(account.getAccountId(), account);
+		Account previousAccount = shardFor(account.getAccountId()).putIfAbsent(account.getAccountId(), account);
 		if (previousAccount != null) {
 			throw new DuplicateAccountIdException("Account id " + account.getAccountId() + " already exists!");
 		}
@@ -22,17 +38,29 @@ public class AccountsRepositoryInMemory implements AccountsRepository {
 
 	@Override
 	public Account getAccount(String accountId) {
-		return accounts.get(accountId);
+		return shardFor(accountId).get(accountId);
 	}
 
 	@Override
 	public void updateAccount(Account account) {
-		accounts.put(account.getAccountId(), account);
+		shardFor(account.getAccountId()).put(account.getAccountId(), account);
 
 	}
 
 	@Override
 	public void clearAccounts() {
-		accounts.clear();
+		for (Map<String, Account> accounts : shards) {
+			accounts.clear();
+		}
+		eventPublisher.publishEvent(new AccountsClearedEvent());
+	}
+
+	@Override
+	public void forEachAccount(int shard, Consumer<Account> action) {
+		shards.get(shard).values().forEach(action);
+	}
+
+	private Map<String, Account> shardFor(String accountId) {
+		return shards.get(AccountsRepository.shardOf(accountId));
 	}
-}
\ No newline at end of file
+}
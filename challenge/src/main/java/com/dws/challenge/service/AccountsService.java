@@ -1,16 +1,26 @@
 package com.dws.challenge.service;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.BalanceChangeEvent;
+import com.dws.challenge.domain.Hold;
 import com.dws.challenge.exception.InsufficientFundsException;
 import com.dws.challenge.exception.InvalidAccountException;
+import com.dws.challenge.exception.InvalidHoldException;
 import com.dws.challenge.exception.InvalidTransferAmount;
+import com.dws.challenge.repository.AccountsClearedEvent;
 import com.dws.challenge.repository.AccountsRepository;
 
 import lombok.Getter;
@@ -27,19 +37,41 @@ public class AccountsService {
 	public static final String UNREGISTERED_WITHDRAW_DEPOSIT_ACC = "from/to Account not registered";
 	public static final String INVALID_TRANSFER_AMOUNT = "Transfer amount should be greater than 0";
 	public static final String NULL_EMPTY_ACCOUNT = "from/to account can not be null or empty";
+	public static final String INVALID_HOLD = "Hold not found or no longer active";
+	public static final String INVALID_HOLD_TTL = "Hold expiry should be between 1 and 604800 seconds";
+
+	public static final long DEFAULT_HOLD_TTL_SECONDS = 15 * 60;
+	public static final long MAX_HOLD_TTL_SECONDS = 7 * 24 * 60 * 60;
+	public static final long SETTLED_HOLD_RETENTION_SECONDS = 60 * 60;
+	private static final long HOLD_EXPIRY_TICK_MS = 100;
+	private static final int HOLD_EXPIRY_SLOTS = 1024;
 
 	@Getter
 	private final AccountsRepository accountsRepository;
 	private NotificationService notificationService;
+	private final BalanceAuditor balanceAuditor;
+	private final ChangeFeed changeFeed;
+	private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+	private final HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(HOLD_EXPIRY_TICK_MS, HOLD_EXPIRY_SLOTS,
+			System.currentTimeMillis());
 
 	@Autowired
-	public AccountsService(AccountsRepository accountsRepository, NotificationService notificationService) {
+	public AccountsService(AccountsRepository accountsRepository, NotificationService notificationService,
+			BalanceAuditor balanceAuditor, ChangeFeed changeFeed) {
 		this.accountsRepository = accountsRepository;
 		this.notificationService = notificationService;
+		this.balanceAuditor = balanceAuditor;
+		this.changeFeed = changeFeed;
 	}
 
 	public void createAccount(Account account) {
-		this.accountsRepository.createAccount(account);
+		// Under the transfer lock so the change feed never shows a transfer
+		// before the creation of its account
+		synchronized (this) {
+			this.accountsRepository.createAccount(account);
+			this.changeFeed.publish(BalanceChangeEvent.Type.CREATED, account, account.getBalance());
+		}
+		this.balanceAuditor.recordCreate(account);
 	}
 
 	public Account getAccount(String accountId) {
@@ -64,7 +96,7 @@ public class AccountsService {
 		if (sourceAccount != null && destinationAccount != null) {
 			if (sourceAccount.getAccountId() != destinationAccount.getAccountId()) {
 				synchronized (this) {
-					if (sourceAccount.getBalance().doubleValue() >= amount.doubleValue()) {
+					if (sourceAccount.getAvailableBalance().doubleValue() >= amount.doubleValue()) {
 
 							transferFunds(sourceAccount, destinationAccount, amount);
 							
@@ -88,14 +120,164 @@ public class AccountsService {
 
 	}
 
+	/**
+	 * 
+	 * Reserves the amount on the source account without moving it. The available
+	 * balance drops right away, while the balance only changes on capture.
+	 * 
+	 */
+	public Hold authorizeHold(String fromAccount, String toAccount, BigDecimal amount, Long ttlSeconds) {
+
+		validateAccount(fromAccount, toAccount);
+		validateTransferAmount(amount);
+		long ttl = validateHoldTtl(ttlSeconds);
+
+		Account sourceAccount = accountsRepository.getAccount(fromAccount);
+		Account destinationAccount = accountsRepository.getAccount(toAccount);
+		if (sourceAccount == null || destinationAccount == null) {
+			throw new InvalidAccountException(UNREGISTERED_WITHDRAW_DEPOSIT_ACC);
+		}
+		if (sourceAccount.getAccountId().equals(destinationAccount.getAccountId())) {
+			throw new InvalidAccountException(SAME_WITHDRAW_DEPOSIT_ACC);
+		}
+
+		Hold hold = new Hold(UUID.randomUUID().toString(), fromAccount, toAccount, amount,
+				System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl));
+		synchronized (this) {
+			if (sourceAccount.getAvailableBalance().compareTo(amount) < 0) {
+				throw new InsufficientFundsException(INSUFFICIENT_BAL);
+			}
+			sourceAccount.setHeldBalance(sourceAccount.getHeldBalance().add(amount));
+			accountsRepository.updateAccount(sourceAccount);
+			holds.put(hold.getHoldId(), hold);
+			holdExpiryWheel.schedule(hold.getHoldId(), hold.getExpiresAt());
+		}
+		return hold;
+	}
+
+	/**
+	 * 
+	 * Moves the held amount from the source to the destination account.
+	 * 
+	 */
+	public Hold captureHold(String holdId) {
+		Hold hold;
+		Account sourceAccount;
+		Account destinationAccount;
+		synchronized (this) {
+			hold = activeHold(holdId);
+			sourceAccount = accountsRepository.getAccount(hold.getFromAccount());
+			destinationAccount = accountsRepository.getAccount(hold.getToAccount());
+			if (sourceAccount == null || destinationAccount == null) {
+				throw new InvalidAccountException(UNREGISTERED_WITHDRAW_DEPOSIT_ACC);
+			}
+			settleHold(hold, Hold.Status.CAPTURED);
+			transferFunds(sourceAccount, destinationAccount, hold.getAmount());
+		}
+
+		notificationService.notifyAboutTransfer(sourceAccount,
+				"Account: " + sourceAccount.getAccountId() + " has been debited by amount: " + hold.getAmount());
+		notificationService.notifyAboutTransfer(destinationAccount,
+				"Account: " + destinationAccount.getAccountId() + " has been credited with amount: " + hold.getAmount());
+		return hold;
+	}
+
+	/**
+	 * 
+	 * Gives the held amount back to the available balance of the source account.
+	 * 
+	 */
+	public synchronized Hold releaseHold(String holdId) {
+		Hold hold = activeHold(holdId);
+		settleHold(hold, Hold.Status.RELEASED);
+		return hold;
+	}
+
+	public Hold getHold(String holdId) {
+		return holds.get(holdId);
+	}
+
+	@Scheduled(fixedDelay = HOLD_EXPIRY_TICK_MS)
+	public void expireHolds() {
+		expireHolds(System.currentTimeMillis());
+	}
+
+	/**
+	 * The wheel fires twice per hold: at its expiry while it is still
+	 * authorized, and once its settled retention is over, to forget it.
+	 */
+	public void expireHolds(long nowMillis) {
+		for (String holdId : holdExpiryWheel.advance(nowMillis)) {
+			synchronized (this) {
+				Hold hold = holds.get(holdId);
+				if (hold == null) {
+					continue;
+				}
+				if (hold.getStatus() == Hold.Status.AUTHORIZED) {
+					settleHold(hold, Hold.Status.EXPIRED, nowMillis);
+				} else {
+					holds.remove(holdId);
+				}
+			}
+		}
+	}
+
+	@EventListener(AccountsClearedEvent.class)
+	public synchronized void clearHolds() {
+		holds.clear();
+		holdExpiryWheel.clear();
+	}
+
+	/**
+	 * Must be called while holding the transfer lock. A hold that is past its
+	 * expiry but not swept yet is expired here.
+	 */
+	private Hold activeHold(String holdId) {
+		Hold hold = holdId == null ? null : holds.get(holdId);
+		if (hold == null || hold.getStatus() != Hold.Status.AUTHORIZED) {
+			throw new InvalidHoldException(INVALID_HOLD);
+		}
+		long nowMillis = System.currentTimeMillis();
+		if (nowMillis >= hold.getExpiresAt()) {
+			settleHold(hold, Hold.Status.EXPIRED, nowMillis);
+			throw new InvalidHoldException(INVALID_HOLD);
+		}
+		return hold;
+	}
+
+	private void settleHold(Hold hold, Hold.Status status) {
+		settleHold(hold, status, System.currentTimeMillis());
+	}
+
+	/**
+	 * Keeps the settled hold readable and replaces its expiry entry with one
+	 * that removes it once the retention period is over.
+	 */
+	private void settleHold(Hold hold, Hold.Status status, long nowMillis) {
+		holdExpiryWheel.schedule(hold.getHoldId(),
+				nowMillis + TimeUnit.SECONDS.toMillis(SETTLED_HOLD_RETENTION_SECONDS));
+		hold.setStatus(status);
+		Account sourceAccount = accountsRepository.getAccount(hold.getFromAccount());
+		if (sourceAccount != null) {
+			sourceAccount.setHeldBalance(sourceAccount.getHeldBalance().subtract(hold.getAmount()));
+			accountsRepository.updateAccount(sourceAccount);
+		}
+	}
+
 	private void transferFunds(Account sourceAccount, Account destinationAccount, BigDecimal amount) {
-		BigDecimal updatedBal = sourceAccount.getBalance().subtract(amount);
+		BigDecimal previousBal = sourceAccount.getBalance();
+		BigDecimal updatedBal = previousBal.subtract(amount);
 		sourceAccount.setBalance(updatedBal);
 		accountsRepository.updateAccount(sourceAccount);
+		balanceAuditor.recordChange(sourceAccount, previousBal);
+		changeFeed.publish(BalanceChangeEvent.Type.DEBITED, sourceAccount, amount);
 
-		updatedBal = destinationAccount.getBalance().add(amount);
+		previousBal = destinationAccount.getBalance();
+		updatedBal = previousBal.add(amount);
 		destinationAccount.setBalance(updatedBal);
 		accountsRepository.updateAccount(destinationAccount);
+		balanceAuditor.recordChange(destinationAccount, previousBal);
+		changeFeed.publish(BalanceChangeEvent.Type.CREDITED, destinationAccount, amount);
 
 	}
 
@@ -106,6 +288,16 @@ public class AccountsService {
 
 	}
 
+	private long validateHoldTtl(Long ttlSeconds) {
+		if (ttlSeconds == null) {
+			return DEFAULT_HOLD_TTL_SECONDS;
+		}
+		if (ttlSeconds <= 0 || ttlSeconds > MAX_HOLD_TTL_SECONDS) {
+			throw new InvalidHoldException(INVALID_HOLD_TTL);
+		}
+		return ttlSeconds;
+	}
+
 	private void validateAccount(String fromAccount, String toAccount) {
 		if (fromAccount == null || toAccount == null || fromAccount.trim().isEmpty() || toAccount.trim().isEmpty()) {
 			throw new InvalidAccountException(NULL_EMPTY_ACCOUNT);
@@ -0,0 +1,269 @@
+package com.dws.challenge.service;
+
+import static com.dws.challenge.repository.AccountsRepository.SHARD_COUNT;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.repository.AccountsClearedEvent;
+import com.dws.challenge.repository.AccountsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Checks that balances are conserved without ever scanning all accounts at once.
+ *
+ * Every balance change updates three values for its shard: an additive hash of
+ * (accountId, balance) pairs, the balance sum, and a change version. The sum
+ * is a fixed point long, plus an exact BigDecimal spill for the changes that
+ * have more decimals than the audit scale or would overflow the long. The hot
+ * path costs two hash evaluations and a few atomic adds.
+ * A scheduled scan walks one shard per tick, without locking, and recomputes
+ * the checksum and sum from the repository. After each full pass the shard sums
+ * are compared with the running total of all created balances.
+ *
+ * The scan is not atomic with transfers. A mismatch is first marked suspect,
+ * and the alarm is raised only when the next pass sees the same mismatch
+ * at the same version.
+ *
+ */
+@Service
+@Slf4j
+public class BalanceAuditor {
+
+	/** Decimal places of the fixed point part of the balance sums. */
+	static final int AUDIT_SCALE = 4;
+
+	/** Longs per shard, one cache line so shards do not false share. */
+	private static final int STRIDE = 8;
+	private static final int VERSION = 0;
+	private static final int CHECKSUM = 1;
+	private static final int SUM = 2;
+
+	/** Row after the shards that holds the total of all created balances. */
+	private static final int TOTAL = SHARD_COUNT;
+
+	private static final long NOT_SUSPECT = -1;
+
+	private final AccountsRepository accountsRepository;
+	private final AtomicLongArray shards = new AtomicLongArray((SHARD_COUNT + 1) * STRIDE);
+	private final AtomicReferenceArray<BigDecimal> spills = new AtomicReferenceArray<>(SHARD_COUNT + 1);
+
+	private final Counter checksumMismatches;
+	private final Counter balanceMismatches;
+	private final Counter totalMismatches;
+	private final AtomicInteger alarm;
+
+	// Scan state, guarded by this
+	private int nextShard;
+	private final long[] suspectVersion = new long[SHARD_COUNT];
+	private long totalSuspectVersion = NOT_SUSPECT;
+
+	@Autowired
+	public BalanceAuditor(AccountsRepository accountsRepository, MeterRegistry meterRegistry) {
+		this.accountsRepository = accountsRepository;
+		this.checksumMismatches = meterRegistry.counter("accounts.audit.mismatches", "kind", "checksum");
+		this.balanceMismatches = meterRegistry.counter("accounts.audit.mismatches", "kind", "balance");
+		this.totalMismatches = meterRegistry.counter("accounts.audit.mismatches", "kind", "total");
+		this.alarm = meterRegistry.gauge("accounts.audit.alarm", new AtomicInteger());
+		resetSpills();
+		meterRegistry.gauge("accounts.audit.total", this, auditor -> auditor.recordedSum(TOTAL).doubleValue());
+		Arrays.fill(suspectVersion, NOT_SUSPECT);
+	}
+
+	public void recordCreate(Account account) {
+		// Total first: the shard version moves last, so a scan that sees the new
+		// version also sees the new total
+		addToSum(TOTAL, account.getBalance(), null);
+		recordChange(account, null);
+	}
+
+	/**
+	 *
+	 * To be called after the new balance of the account has been stored.
+	 *
+	 */
+	public void recordChange(Account account, BigDecimal previousBalance) {
+		String accountId = account.getAccountId();
+		BigDecimal balance = account.getBalance();
+		int base = AccountsRepository.shardOf(accountId) * STRIDE;
+
+		shards.addAndGet(base + CHECKSUM, contribution(accountId, balance) - contribution(accountId, previousBalance));
+		addToSum(AccountsRepository.shardOf(accountId), balance, previousBalance);
+		shards.incrementAndGet(base + VERSION);
+	}
+
+	@Scheduled(fixedDelayString = "${challenge.audit.scan-interval-ms:100}")
+	public synchronized void scanNextShard() {
+		int shard = nextShard;
+		nextShard = (shard + 1) & (SHARD_COUNT - 1);
+		verifyShard(shard);
+		if (nextShard == 0) {
+			verifyTotal();
+		}
+	}
+
+	public long getMismatchCount() {
+		return (long) (checksumMismatches.count() + balanceMismatches.count() + totalMismatches.count());
+	}
+
+	@EventListener(AccountsClearedEvent.class)
+	public synchronized void reset() {
+		for (int i = 0; i < shards.length(); i++) {
+			shards.set(i, 0);
+		}
+		resetSpills();
+		Arrays.fill(suspectVersion, NOT_SUSPECT);
+		totalSuspectVersion = NOT_SUSPECT;
+		alarm.set(0);
+	}
+
+	private synchronized void verifyShard(int shard) {
+		int base = shard * STRIDE;
+		long versionBefore = shards.get(base + VERSION);
+		ShardScan scan = new ShardScan();
+		accountsRepository.forEachAccount(shard, scan::add);
+		long checksum = shards.get(base + CHECKSUM);
+		BigDecimal sum = recordedSum(shard);
+		long version = shards.get(base + VERSION);
+
+		boolean checksumMatches = scan.checksum == checksum;
+		boolean sumMatches = scan.sum.value().compareTo(sum) == 0;
+		if (version != versionBefore || (checksumMatches && sumMatches)) {
+			suspectVersion[shard] = NOT_SUSPECT;
+			return;
+		}
+		if (suspectVersion[shard] != version) {
+			suspectVersion[shard] = version;
+			return;
+		}
+		suspectVersion[shard] = NOT_SUSPECT;
+		if (!checksumMatches) {
+			checksumMismatches.increment();
+		}
+		if (!sumMatches) {
+			balanceMismatches.increment();
+		}
+		raiseAlarm("Shard " + shard + " does not match its recorded balance changes");
+	}
+
+	private synchronized void verifyTotal() {
+		long versions = 0;
+		ExactSum recorded = new ExactSum();
+		for (int shard = 0; shard < SHARD_COUNT; shard++) {
+			versions += shards.get(shard * STRIDE + VERSION);
+			recorded.add(recordedSum(shard));
+		}
+		BigDecimal total = recorded.value();
+		BigDecimal expectedTotal = recordedSum(TOTAL);
+		if (total.compareTo(expectedTotal) == 0) {
+			totalSuspectVersion = NOT_SUSPECT;
+			return;
+		}
+		if (totalSuspectVersion != versions) {
+			totalSuspectVersion = versions;
+			return;
+		}
+		totalSuspectVersion = NOT_SUSPECT;
+		totalMismatches.increment();
+		raiseAlarm("Recorded balances sum to " + total + " differs from created total " + expectedTotal);
+	}
+
+	private void raiseAlarm(String message) {
+		alarm.set(1);
+		log.error("Balance audit mismatch: {}", message);
+	}
+
+	/**
+	 * Adds the change to the fixed point sum of the row. Changes that have more
+	 * decimals than the audit scale, or would overflow it, go to the spill.
+	 */
+	private void addToSum(int row, BigDecimal balance, BigDecimal previousBalance) {
+		int index = row * STRIDE + SUM;
+		try {
+			long delta = Math.subtractExact(units(balance), units(previousBalance));
+			long current;
+			do {
+				current = shards.get(index);
+			} while (!shards.compareAndSet(index, current, Math.addExact(current, delta)));
+			return;
+		} catch (ArithmeticException ae) {
+			// Does not fit the fixed point sum
+		}
+		BigDecimal delta = balance == null ? BigDecimal.ZERO : balance;
+		if (previousBalance != null) {
+			delta = delta.subtract(previousBalance);
+		}
+		spills.accumulateAndGet(row, delta, BigDecimal::add);
+	}
+
+	private BigDecimal recordedSum(int row) {
+		return BigDecimal.valueOf(shards.get(row * STRIDE + SUM), AUDIT_SCALE).add(spills.get(row));
+	}
+
+	private void resetSpills() {
+		for (int row = 0; row < spills.length(); row++) {
+			spills.set(row, BigDecimal.ZERO);
+		}
+	}
+
+	private static long units(BigDecimal balance) {
+		return balance == null ? 0 : balance.movePointRight(AUDIT_SCALE).longValueExact();
+	}
+
+	private static long contribution(String accountId, BigDecimal balance) {
+		if (balance == null) {
+			return 0;
+		}
+		long hash = accountId.hashCode() * 0x9E3779B97F4A7C15L + balance.hashCode();
+		hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	/**
+	 * Exact sum that stays on a fixed point long while the values fit.
+	 */
+	private static class ExactSum {
+		long units;
+		BigDecimal spill = BigDecimal.ZERO;
+
+		void add(BigDecimal value) {
+			if (value == null) {
+				return;
+			}
+			try {
+				units = Math.addExact(units, units(value));
+			} catch (ArithmeticException ae) {
+				spill = spill.add(value);
+			}
+		}
+
+		BigDecimal value() {
+			return BigDecimal.valueOf(units, AUDIT_SCALE).add(spill);
+		}
+	}
+
+	private static class ShardScan {
+		long checksum;
+		final ExactSum sum = new ExactSum();
+
+		void add(Account account) {
+			BigDecimal balance = account.getBalance();
+			checksum += contribution(account.getAccountId(), balance);
+			sum.add(balance);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.dws.challenge.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.BalanceChangeEvent;
+import com.dws.challenge.exception.ChangeFeedOverrunException;
+
+/**
+ *
+ * In-process ring buffer of committed balance changes. Publishing stores the
+ * event and advances a volatile cursor, so it never waits for readers. Each
+ * reader keeps its own position. A reader that falls more than the capacity
+ * behind finds its events overwritten and gets a
+ * {@link ChangeFeedOverrunException}.
+ *
+ * Events are published while the transfer lock is held, which makes the
+ * sequence order the commit order.
+ *
+ */
+@Service
+public class ChangeFeed {
+
+	public static final String OVERRUN = "Change feed events were overwritten before they were read";
+
+	private final BalanceChangeEvent[] ring;
+	private final int mask;
+	private volatile long lastSequence;
+
+	@Autowired
+	public ChangeFeed(@Value("${challenge.change-feed.capacity:65536}") int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Change feed capacity must be a power of two: " + capacity);
+		}
+		this.ring = new BalanceChangeEvent[capacity];
+		this.mask = capacity - 1;
+	}
+
+	public synchronized void publish(BalanceChangeEvent.Type type, Account account, BigDecimal amount) {
+		long sequence = lastSequence + 1;
+		ring[(int) sequence & mask] = new BalanceChangeEvent(sequence, type, account.getAccountId(), amount,
+				account.getBalance(), System.currentTimeMillis());
+		lastSequence = sequence;
+	}
+
+	public long getNextSequence() {
+		return lastSequence + 1;
+	}
+
+	public long getOldestSequence() {
+		return Math.max(1, lastSequence - ring.length + 1);
+	}
+
+	/**
+	 *
+	 * Adds up to max events starting at the given sequence to out and returns
+	 * the sequence to read next.
+	 *
+	 */
+	public long read(long sequence, int max, List<BalanceChangeEvent> out) {
+		long last = lastSequence;
+		for (int read = 0; sequence <= last && read < max; sequence++, read++) {
+			BalanceChangeEvent event = ring[(int) sequence & mask];
+			// Events are immutable, a different sequence means the slot was reused
+			if (event == null || event.getSequence() != sequence) {
+				throw new ChangeFeedOverrunException(OVERRUN);
+			}
+			out.add(event);
+		}
+		return sequence;
+	}
+}
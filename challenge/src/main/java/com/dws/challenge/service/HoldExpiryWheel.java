@@ -0,0 +1,110 @@
+package com.dws.challenge.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * Hashed timing wheel for hold expiry. Scheduling and cancelling a hold are
+ * O(1), and each tick only looks at one slot, so the sweep cost does not grow
+ * with the number of live holds. Every slot is a doubly linked list, and each
+ * entry counts the wheel turns left before it is due. A slot visit only
+ * decrements that count for entries that are not due yet.
+ *
+ */
+public class HoldExpiryWheel {
+
+	private final long tickMillis;
+	private final Entry[] slots;
+	private final Map<String, Entry> entries = new HashMap<>();
+	private long currentTick;
+
+	public HoldExpiryWheel(long tickMillis, int slotCount, long startMillis) {
+		this.tickMillis = tickMillis;
+		this.slots = new Entry[slotCount];
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	/**
+	 * Schedules the hold to fire at the given time, replacing any entry it
+	 * already has.
+	 */
+	public synchronized void schedule(String holdId, long dueMillis) {
+		cancel(holdId);
+		long tick = Math.max((dueMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+		Entry entry = new Entry(holdId, (int) (tick % slots.length), (tick - currentTick - 1) / slots.length);
+		entry.next = slots[entry.slot];
+		if (entry.next != null) {
+			entry.next.previous = entry;
+		}
+		slots[entry.slot] = entry;
+		entries.put(holdId, entry);
+	}
+
+	public synchronized void cancel(String holdId) {
+		Entry entry = entries.remove(holdId);
+		if (entry != null) {
+			unlink(entry);
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		Arrays.fill(slots, null);
+	}
+
+	/**
+	 * Advances the wheel up to the given time and returns the ids of the holds
+	 * whose entries fell due.
+	 */
+	public synchronized List<String> advance(long nowMillis) {
+		List<String> due = new ArrayList<>();
+		long targetTick = nowMillis / tickMillis;
+		while (currentTick < targetTick) {
+			currentTick++;
+			Entry entry = slots[(int) (currentTick % slots.length)];
+			while (entry != null) {
+				Entry next = entry.next;
+				if (entry.remainingRounds == 0) {
+					unlink(entry);
+					entries.remove(entry.holdId);
+					due.add(entry.holdId);
+				} else {
+					entry.remainingRounds--;
+				}
+				entry = next;
+			}
+		}
+		return due;
+	}
+
+	private void unlink(Entry entry) {
+		if (entry.previous != null) {
+			entry.previous.next = entry.next;
+		} else {
+			slots[entry.slot] = entry.next;
+		}
+		if (entry.next != null) {
+			entry.next.previous = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+	}
+
+	private static class Entry {
+		final String holdId;
+		final int slot;
+		long remainingRounds;
+		Entry previous;
+		Entry next;
+
+		Entry(String holdId, int slot, long remainingRounds) {
+			this.holdId = holdId;
+			this.slot = slot;
+			this.remainingRounds = remainingRounds;
+		}
+	}
+}
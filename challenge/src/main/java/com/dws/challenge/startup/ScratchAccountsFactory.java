@@ -0,0 +1,29 @@
+package com.dws.challenge.startup;
+
+import com.dws.challenge.repository.AccountsRepositoryInMemory;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.BalanceAuditor;
+import com.dws.challenge.service.ChangeFeed;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ *
+ * Builds an accounts service of its own, outside the application context,
+ * so synthetic traffic never reaches the real store, feed or metrics.
+ *
+ */
+final class ScratchAccountsFactory {
+
+	private static final int CHANGE_FEED_CAPACITY = 1024;
+
+	private ScratchAccountsFactory() {
+	}
+
+	static AccountsService newAccountsService() {
+		AccountsRepositoryInMemory accountsRepository = new AccountsRepositoryInMemory(event -> {
+		});
+		return new AccountsService(accountsRepository, (account, transferDescription) -> {
+		}, new BalanceAuditor(accountsRepository, new SimpleMeterRegistry()), new ChangeFeed(CHANGE_FEED_CAPACITY));
+	}
+}
@@ -0,0 +1,127 @@
+package com.dws.challenge.startup;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.web.AccountsController;
+import com.dws.challenge.web.AccountsPayloadCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Pushes synthetic traffic through the transfer and account paths so they are
+ * JIT compiled before the instance starts taking load. Application runners
+ * complete before Spring Boot publishes the ready event, so a readiness probe
+ * only succeeds once warm-up is done.
+ *
+ * Transfers run against a scratch service and repository, so no synthetic
+ * account ever reaches the real store. The HTTP round trips only use requests
+ * that do not change state.
+ *
+ */
+@Component
+@ConditionalOnProperty(name = "challenge.warmup.enabled", havingValue = "true")
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+	private static final String FROM_ACCOUNT = "warmup-from";
+	private static final String TO_ACCOUNT = "warmup-to";
+
+	private final AccountsPayloadCodec payloadCodec;
+	private final ConfigurableApplicationContext context;
+	private final Environment environment;
+	private final int iterations;
+	private final int httpRequests;
+	private final boolean exitAfterWarmup;
+
+	@Autowired
+	public WarmupRunner(AccountsPayloadCodec payloadCodec, ConfigurableApplicationContext context,
+			Environment environment, @Value("${challenge.warmup.iterations:20000}") int iterations,
+			@Value("${challenge.warmup.http-requests:500}") int httpRequests,
+			@Value("${challenge.startup.exit-after-warmup:false}") boolean exitAfterWarmup) {
+		this.payloadCodec = payloadCodec;
+		this.context = context;
+		this.environment = environment;
+		this.iterations = iterations;
+		this.httpRequests = httpRequests;
+		this.exitAfterWarmup = exitAfterWarmup;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		long start = System.nanoTime();
+		warmUpTransfers();
+		warmUpHttp();
+		log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+		if (exitAfterWarmup) {
+			// Used by the fast-start build to dump the class data sharing archive
+			System.exit(SpringApplication.exit(context));
+		}
+	}
+
+	private void warmUpTransfers() {
+		AccountsService accountsService = ScratchAccountsFactory.newAccountsService();
+		AccountsController accountsController = new AccountsController(accountsService, payloadCodec);
+
+		accountsController.createAccount(bytes("{\"accountId\":\"" + FROM_ACCOUNT + "\",\"balance\":1000000}"));
+		accountsController.createAccount(bytes("{\"accountId\":\"" + TO_ACCOUNT + "\",\"balance\":1000000}"));
+
+		BigDecimal amount = new BigDecimal("1.25");
+		byte[] transferBack = bytes(
+				"{\"fromAccount\":\"" + TO_ACCOUNT + "\",\"toAccount\":\"" + FROM_ACCOUNT + "\",\"amount\":\"1.25\"}");
+		byte[] invalidTransfer = bytes(
+				"{\"fromAccount\":\"" + FROM_ACCOUNT + "\",\"toAccount\":\"" + FROM_ACCOUNT + "\",\"amount\":1}");
+
+		for (int i = 0; i < iterations; i++) {
+			accountsService.fundTransfer(FROM_ACCOUNT, TO_ACCOUNT, amount);
+			accountsController.fundTransfer(transferBack);
+			if ((i & 15) == 0) {
+				accountsController.fundTransfer(invalidTransfer);
+				accountsController.getAccount(FROM_ACCOUNT);
+			}
+		}
+	}
+
+	private void warmUpHttp() throws Exception {
+		String port = environment.getProperty("local.server.port");
+		if (port == null || httpRequests <= 0) {
+			return;
+		}
+		String baseUrl = "http://localhost:" + port + "/v1/accounts";
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest getRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/" + FROM_ACCOUNT)).GET().build();
+		HttpRequest transferRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/transferFunds"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"fromAccount\":\"" + FROM_ACCOUNT
+						+ "\",\"toAccount\":\"" + TO_ACCOUNT + "\",\"amount\":\"1.25\"}"))
+				.build();
+
+		// Both accounts are unknown to the real service: the GET finds nothing
+		// and the transfer is rejected, so no state changes.
+		for (int i = 0; i < httpRequests; i++) {
+			client.send(getRequest, HttpResponse.BodyHandlers.discarding());
+			client.send(transferRequest, HttpResponse.BodyHandlers.discarding());
+		}
+	}
+
+	private static byte[] bytes(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+}
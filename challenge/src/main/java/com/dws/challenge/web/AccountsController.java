@@ -2,8 +2,6 @@ package com.dws.challenge.web;
 
 import java.math.BigDecimal;
 
-import javax.validation.Valid;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -16,10 +14,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.Hold;
+import com.dws.challenge.domain.HoldRequest;
 import com.dws.challenge.domain.TxInfo;
 import com.dws.challenge.exception.DuplicateAccountIdException;
 import com.dws.challenge.exception.InsufficientFundsException;
 import com.dws.challenge.exception.InvalidAccountException;
+import com.dws.challenge.exception.InvalidHoldException;
+import com.dws.challenge.exception.InvalidPayloadException;
 import com.dws.challenge.exception.InvalidTransferAmount;
 import com.dws.challenge.service.AccountsService;
 
@@ -31,16 +33,26 @@ import lombok.extern.slf4j.Slf4j;
 public class AccountsController {
 
   private final AccountsService accountsService;
+  private final AccountsPayloadCodec payloadCodec;
 
   @Autowired
-  public AccountsController(AccountsService accountsService) {
+  public AccountsController(AccountsService accountsService, AccountsPayloadCodec payloadCodec) {
     this.accountsService = accountsService;
+    this.payloadCodec = payloadCodec;
   }
 
   @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<Object> createAccount(@RequestBody @Valid Account account) {
+  public ResponseEntity<Object> createAccount(@RequestBody byte[] body) {
    // log.info("Creating account {}", account);
 
+    Account account;
+    try {
+      account = this.payloadCodec.readAccount(body);
+      this.payloadCodec.validateAccount(account);
+    } catch (InvalidPayloadException ipe) {
+      return new ResponseEntity<>(ipe.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     try {
     this.accountsService.createAccount(account);
     } catch (DuplicateAccountIdException daie) {
@@ -61,8 +73,14 @@ public class AccountsController {
 	* This is the enpoint to transfer the funds from source to destination account
 	* 
 	*/
-  @PostMapping(path = "/transferFunds")
-	public ResponseEntity<Object> fundTransfer(@RequestBody TxInfo txInfo) {
+  @PostMapping(path = "/transferFunds", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> fundTransfer(@RequestBody byte[] body) {
+		TxInfo txInfo;
+		try {
+			txInfo = payloadCodec.readTxInfo(body);
+		} catch (InvalidPayloadException ipe) {
+			return new ResponseEntity<>(ipe.getMessage(), HttpStatus.BAD_REQUEST);
+		}
 		String fromAccount = txInfo.getFromAccount();
 		String toAccount = txInfo.getToAccount();
 		BigDecimal amount = txInfo.getAmount();
@@ -75,4 +93,51 @@ public class AccountsController {
 		return new ResponseEntity<>(HttpStatus.OK);
 
 	}
+
+	/**
+	* 
+	* Reserves funds on the source account, to be captured or released later
+	* 
+	*/
+	@PostMapping(path = "/holds", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Object> authorizeHold(@RequestBody HoldRequest holdRequest) {
+		try {
+			Hold hold = accountsService.authorizeHold(holdRequest.getFromAccount(), holdRequest.getToAccount(),
+					holdRequest.getAmount(), holdRequest.getTtlSeconds());
+			return new ResponseEntity<>(hold, HttpStatus.CREATED);
+		} catch (InsufficientFundsException | InvalidAccountException | InvalidTransferAmount
+				| InvalidHoldException holdException) {
+			return new ResponseEntity<>(holdException.getMessage(), HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	* 
+	* Settled holds stay readable, with their final status, for the retention
+	* period of the service
+	* 
+	*/
+	@GetMapping(path = "/holds/{holdId}")
+	public ResponseEntity<Hold> getHold(@PathVariable String holdId) {
+		Hold hold = accountsService.getHold(holdId);
+		return hold == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(hold);
+	}
+
+	@PostMapping(path = "/holds/{holdId}/capture")
+	public ResponseEntity<Object> captureHold(@PathVariable String holdId) {
+		try {
+			return new ResponseEntity<>(accountsService.captureHold(holdId), HttpStatus.OK);
+		} catch (InvalidAccountException | InvalidHoldException holdException) {
+			return new ResponseEntity<>(holdException.getMessage(), HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	@PostMapping(path = "/holds/{holdId}/release")
+	public ResponseEntity<Object> releaseHold(@PathVariable String holdId) {
+		try {
+			return new ResponseEntity<>(accountsService.releaseHold(holdId), HttpStatus.OK);
+		} catch (InvalidHoldException holdException) {
+			return new ResponseEntity<>(holdException.getMessage(), HttpStatus.BAD_REQUEST);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.dws.challenge.web;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.TxInfo;
+import com.dws.challenge.exception.InvalidPayloadException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ * Reads the small fixed-shape request bodies of the accounts endpoints
+ * straight from the request bytes, without Jackson databinding or bean
+ * validation on the hot path.
+ *
+ * Only flat objects with plain ASCII strings, strict JSON numbers and
+ * literals are handled here. Anything else (escapes, non-ASCII text, nested
+ * values, duplicate keys, lenient coercions) is handed to the
+ * {@link ObjectMapper}, so the outcome is always the same as databinding.
+ *
+ */
+@Component
+public class AccountsPayloadCodec {
+
+	public static final String MALFORMED_PAYLOAD = "Malformed request payload";
+	public static final String EMPTY_ACCOUNT_ID = "Account id can not be null or empty";
+	public static final String NULL_BALANCE = "Initial balance can not be null";
+	public static final String NEGATIVE_BALANCE = "Initial balance must be positive.";
+
+	private static final int STRING = 0;
+	private static final int DECIMAL = 1;
+
+	private static final byte[][] ACCOUNT_KEYS = { ascii("accountId"), ascii("balance") };
+	private static final int[] ACCOUNT_KINDS = { STRING, DECIMAL };
+
+	private static final byte[][] TX_INFO_KEYS = { ascii("fromAccount"), ascii("toAccount"), ascii("amount") };
+	private static final int[] TX_INFO_KINDS = { STRING, STRING, DECIMAL };
+
+	private static final byte[] NULL = ascii("null");
+	private static final byte[] TRUE = ascii("true");
+	private static final byte[] FALSE = ascii("false");
+
+	/** Digits that always fit an unscaled long without overflow. */
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public AccountsPayloadCodec(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public Account readAccount(byte[] body) {
+		Object[] values = new Object[ACCOUNT_KEYS.length];
+		if (readFlatObject(body, ACCOUNT_KEYS, ACCOUNT_KINDS, values)) {
+			return new Account((String) values[0], (BigDecimal) values[1]);
+		}
+		return fallback(body, Account.class);
+	}
+
+	public TxInfo readTxInfo(byte[] body) {
+		Object[] values = new Object[TX_INFO_KEYS.length];
+		if (readFlatObject(body, TX_INFO_KEYS, TX_INFO_KINDS, values)) {
+			return new TxInfo((String) values[0], (String) values[1], (BigDecimal) values[2]);
+		}
+		return fallback(body, TxInfo.class);
+	}
+
+	/**
+	 *
+	 * Same rules as the bean validation constraints declared on {@link Account}.
+	 *
+	 */
+	public void validateAccount(Account account) {
+		if (account.getAccountId() == null || account.getAccountId().isEmpty()) {
+			throw new InvalidPayloadException(EMPTY_ACCOUNT_ID);
+		}
+		if (account.getBalance() == null) {
+			throw new InvalidPayloadException(NULL_BALANCE);
+		}
+		if (account.getBalance().signum() < 0) {
+			throw new InvalidPayloadException(NEGATIVE_BALANCE);
+		}
+	}
+
+	private <T> T fallback(byte[] body, Class<T> type) {
+		T value;
+		try {
+			value = objectMapper.readValue(body, type);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new InvalidPayloadException(MALFORMED_PAYLOAD);
+		}
+		if (value == null) {
+			throw new InvalidPayloadException(MALFORMED_PAYLOAD);
+		}
+		return value;
+	}
+
+	/**
+	 *
+	 * Fills values for the given keys from a flat JSON object. Unknown keys are
+	 * skipped like databinding does. Returns false as soon as the payload leaves
+	 * the simple shape, leaving the decision to the fallback.
+	 *
+	 */
+	static boolean readFlatObject(byte[] buf, byte[][] keys, int[] kinds, Object[] values) {
+		int pos = skipWhitespace(buf, 0);
+		if (pos >= buf.length || buf[pos] != '{') {
+			return false;
+		}
+		pos = skipWhitespace(buf, pos + 1);
+		if (pos < buf.length && buf[pos] == '}') {
+			return skipWhitespace(buf, pos + 1) == buf.length;
+		}
+		int seen = 0;
+		while (true) {
+			if (pos >= buf.length || buf[pos] != '"') {
+				return false;
+			}
+			int keyEnd = scanString(buf, pos + 1);
+			if (keyEnd < 0) {
+				return false;
+			}
+			int field = matchKey(buf, pos + 1, keyEnd, keys);
+			if (field >= 0) {
+				if ((seen & (1 << field)) != 0) {
+					return false;
+				}
+				seen |= 1 << field;
+			}
+			pos = skipWhitespace(buf, keyEnd + 1);
+			if (pos >= buf.length || buf[pos] != ':') {
+				return false;
+			}
+			pos = skipWhitespace(buf, pos + 1);
+			if (pos >= buf.length) {
+				return false;
+			}
+
+			int valueEnd;
+			byte b = buf[pos];
+			if (b == '"') {
+				int end = scanString(buf, pos + 1);
+				if (end < 0) {
+					return false;
+				}
+				if (field >= 0) {
+					if (kinds[field] == STRING) {
+						values[field] = new String(buf, pos + 1, end - pos - 1, StandardCharsets.US_ASCII);
+					} else {
+						if (scanNumber(buf, pos + 1) != end) {
+							return false;
+						}
+						values[field] = toDecimal(buf, pos + 1, end);
+						if (values[field] == null) {
+							return false;
+						}
+					}
+				}
+				valueEnd = end + 1;
+			} else if (b == '-' || (b >= '0' && b <= '9')) {
+				int end = scanNumber(buf, pos);
+				if (end < 0 || (field >= 0 && kinds[field] != DECIMAL)) {
+					return false;
+				}
+				if (field >= 0) {
+					values[field] = toDecimal(buf, pos, end);
+					if (values[field] == null) {
+						return false;
+					}
+				}
+				valueEnd = end;
+			} else if (matchLiteral(buf, pos, NULL)) {
+				valueEnd = pos + NULL.length;
+			} else if (field < 0 && matchLiteral(buf, pos, TRUE)) {
+				valueEnd = pos + TRUE.length;
+			} else if (field < 0 && matchLiteral(buf, pos, FALSE)) {
+				valueEnd = pos + FALSE.length;
+			} else {
+				return false;
+			}
+
+			pos = skipWhitespace(buf, valueEnd);
+			if (pos >= buf.length) {
+				return false;
+			}
+			if (buf[pos] == '}') {
+				return skipWhitespace(buf, pos + 1) == buf.length;
+			}
+			if (buf[pos] != ',') {
+				return false;
+			}
+			pos = skipWhitespace(buf, pos + 1);
+		}
+	}
+
+	/**
+	 * Returns the index of the closing quote, or -1 for escapes, control
+	 * characters and non-ASCII bytes.
+	 */
+	private static int scanString(byte[] buf, int pos) {
+		for (; pos < buf.length; pos++) {
+			byte b = buf[pos];
+			if (b == '"') {
+				return pos;
+			}
+			if (b == '\\' || b < 0x20) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the end of a strict JSON number starting at pos, or -1.
+	 */
+	private static int scanNumber(byte[] buf, int pos) {
+		if (pos < buf.length && buf[pos] == '-') {
+			pos++;
+		}
+		if (pos >= buf.length) {
+			return -1;
+		}
+		if (buf[pos] == '0') {
+			pos++;
+		} else if (isDigit(buf[pos])) {
+			pos = skipDigits(buf, pos);
+		} else {
+			return -1;
+		}
+		if (pos < buf.length && buf[pos] == '.') {
+			int start = pos + 1;
+			pos = skipDigits(buf, start);
+			if (pos == start) {
+				return -1;
+			}
+		}
+		if (pos < buf.length && (buf[pos] == 'e' || buf[pos] == 'E')) {
+			pos++;
+			if (pos < buf.length && (buf[pos] == '+' || buf[pos] == '-')) {
+				pos++;
+			}
+			int start = pos;
+			pos = skipDigits(buf, start);
+			if (pos == start) {
+				return -1;
+			}
+		}
+		return pos;
+	}
+
+	/**
+	 * Builds the decimal from an unscaled long when the digits fit, which gives
+	 * the same value and scale as parsing the text.
+	 */
+	private static BigDecimal toDecimal(byte[] buf, int start, int end) {
+		long unscaled = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean fraction = false;
+		boolean negative = buf[start] == '-';
+		for (int i = negative ? start + 1 : start; i < end; i++) {
+			byte b = buf[i];
+			if (b == '.') {
+				fraction = true;
+			} else if (isDigit(b) && digits < MAX_LONG_DIGITS) {
+				unscaled = unscaled * 10 + (b - '0');
+				digits++;
+				if (fraction) {
+					scale++;
+				}
+			} else {
+				try {
+					return new BigDecimal(new String(buf, start, end - start, StandardCharsets.US_ASCII));
+				} catch (NumberFormatException nfe) {
+					// Exponent out of range, left to the fallback
+					return null;
+				}
+			}
+		}
+		return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+	}
+
+	private static int matchKey(byte[] buf, int start, int end, byte[][] keys) {
+		int length = end - start;
+		for (int k = 0; k < keys.length; k++) {
+			byte[] key = keys[k];
+			if (key.length == length && regionMatches(buf, start, key)) {
+				return k;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean matchLiteral(byte[] buf, int pos, byte[] literal) {
+		return pos + literal.length <= buf.length && regionMatches(buf, pos, literal);
+	}
+
+	private static boolean regionMatches(byte[] buf, int pos, byte[] expected) {
+		for (int i = 0; i < expected.length; i++) {
+			if (buf[pos + i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int skipWhitespace(byte[] buf, int pos) {
+		while (pos < buf.length) {
+			byte b = buf[pos];
+			if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+				break;
+			}
+			pos++;
+		}
+		return pos;
+	}
+
+	private static int skipDigits(byte[] buf, int pos) {
+		while (pos < buf.length && isDigit(buf[pos])) {
+			pos++;
+		}
+		return pos;
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+}
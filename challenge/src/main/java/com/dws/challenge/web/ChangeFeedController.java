@@ -0,0 +1,206 @@
+package com.dws.challenge.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dws.challenge.domain.BalanceChangeEvent;
+import com.dws.challenge.exception.ChangeFeedOverrunException;
+import com.dws.challenge.service.ChangeFeed;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ * Streams the balance change feed as server-sent events. It lives outside
+ * /v1/accounts, where any path segment is read as an account id. Each event
+ * id is its sequence number, so a client resumes with the standard
+ * Last-Event-ID header or with fromSequence. Without either, the stream
+ * starts at the next change.
+ *
+ * Delivery runs on a separate pool. Each subscriber reads at its own pace from
+ * its own position in the ring, and transfers never wait on it. A subscriber
+ * that falls behind by more than the ring capacity is sent a "dropped" event
+ * and disconnected. A resume from a sequence that is no longer in the ring is
+ * answered with 410 Gone.
+ *
+ * Socket writes are blocking, so they run on a writer pool, at most one per
+ * subscriber at a time, and the delivery threads never wait on a client. A
+ * write that is not done within the send timeout drops the subscriber. An
+ * idle stream gets a heartbeat comment, so a client that went away without
+ * closing the connection is noticed on the next write.
+ *
+ */
+@RestController
+@RequestMapping("/v1/account-changes")
+@Slf4j
+public class ChangeFeedController {
+
+	private static final int BATCH_SIZE = 256;
+	private static final long IDLE_POLL_MS = 10;
+	private static final String SEND_TIMEOUT = "Change feed subscriber did not read its events in time";
+
+	private final ChangeFeed changeFeed;
+	private final ScheduledExecutorService deliveryExecutor;
+	private final ExecutorService writeExecutor;
+	private final long sendTimeoutNanos;
+	private final long heartbeatNanos;
+
+	@Autowired
+	public ChangeFeedController(ChangeFeed changeFeed,
+			@Value("${challenge.change-feed.delivery-threads:4}") int deliveryThreads,
+			@Value("${challenge.change-feed.send-timeout-ms:5000}") long sendTimeoutMillis,
+			@Value("${challenge.change-feed.heartbeat-ms:15000}") long heartbeatMillis) {
+		this.changeFeed = changeFeed;
+		this.deliveryExecutor = Executors.newScheduledThreadPool(deliveryThreads, daemonThreads("change-feed-"));
+		this.writeExecutor = Executors.newCachedThreadPool(daemonThreads("change-feed-write-"));
+		this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+		this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMillis);
+	}
+
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> subscribe(@RequestParam(required = false) Long fromSequence,
+			@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+		long startSequence = lastEventId != null ? lastEventId + 1
+				: fromSequence != null ? fromSequence : changeFeed.getNextSequence();
+		if (startSequence < changeFeed.getOldestSequence()) {
+			return ResponseEntity.status(HttpStatus.GONE).build();
+		}
+
+		SseEmitter emitter = new SseEmitter(0L);
+		Subscriber subscriber = new Subscriber(emitter, startSequence);
+		emitter.onCompletion(subscriber::cancel);
+		emitter.onTimeout(subscriber::cancel);
+		emitter.onError(error -> subscriber.cancel());
+		deliveryExecutor.execute(subscriber);
+		return ResponseEntity.ok(emitter);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		deliveryExecutor.shutdownNow();
+		writeExecutor.shutdownNow();
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger threadCount = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private interface Send {
+		void send() throws IOException;
+	}
+
+	/**
+	 * Hands one batch per run to the writer pool and reschedules itself, right
+	 * away while it is catching up and after a short pause once it has caught
+	 * up or while its previous write is still in flight. Only one delivery
+	 * thread runs a given subscriber at a time.
+	 */
+	private class Subscriber implements Runnable {
+
+		private final SseEmitter emitter;
+		private long nextSequence;
+		private Future<?> pendingWrite;
+		private long writeStarted;
+		private volatile boolean cancelled;
+
+		Subscriber(SseEmitter emitter, long nextSequence) {
+			this.emitter = emitter;
+			this.nextSequence = nextSequence;
+			this.writeStarted = System.nanoTime();
+		}
+
+		void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			if (pendingWrite != null && !pendingWrite.isDone()) {
+				if (System.nanoTime() - writeStarted > sendTimeoutNanos) {
+					drop(SEND_TIMEOUT);
+				} else {
+					deliveryExecutor.schedule(this, IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+				}
+				return;
+			}
+
+			List<BalanceChangeEvent> batch = new ArrayList<>();
+			try {
+				nextSequence = changeFeed.read(nextSequence, BATCH_SIZE, batch);
+			} catch (ChangeFeedOverrunException cfoe) {
+				drop(ChangeFeed.OVERRUN);
+				return;
+			}
+			if (!batch.isEmpty()) {
+				write(() -> {
+					for (BalanceChangeEvent event : batch) {
+						emitter.send(SseEmitter.event().id(Long.toString(event.getSequence())).name("balance-change")
+								.data(event, MediaType.APPLICATION_JSON));
+					}
+				});
+			} else if (System.nanoTime() - writeStarted > heartbeatNanos) {
+				write(() -> emitter.send(SseEmitter.event().comment("heartbeat")));
+			}
+			deliveryExecutor.schedule(this, batch.size() == BATCH_SIZE ? 0 : IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+		}
+
+		private void write(Send send) {
+			writeStarted = System.nanoTime();
+			pendingWrite = writeExecutor.submit(() -> {
+				try {
+					send.send();
+				} catch (IOException | IllegalStateException disconnected) {
+					cancel();
+				}
+			});
+		}
+
+		/**
+		 * Cancels on the delivery thread and hands the "dropped" event and the
+		 * completion to the writer pool. The emitter serializes its writes, so
+		 * a stuck write holds those back, not a delivery thread.
+		 */
+		private void drop(String reason) {
+			cancel();
+			log.warn("Dropping change feed subscriber at sequence {}: {}", nextSequence, reason);
+			writeExecutor.execute(() -> {
+				try {
+					emitter.send(SseEmitter.event().name("dropped").data(reason));
+				} catch (IOException | IllegalStateException ignored) {
+					// Completing below closes the stream either way
+				}
+				emitter.complete();
+			});
+		}
+	}
+}
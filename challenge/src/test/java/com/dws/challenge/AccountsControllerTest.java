@@ -236,4 +236,44 @@ class AccountsControllerTest {
 	    
 	    
 	}
+
+	@Test
+	void test_authorizeAndCaptureHold() throws Exception {
+		test_createWithdrawAccount();
+		test_createDepositeAccount();
+		String response = this.mockMvc.perform(post("/v1/accounts/holds").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":300,\"ttlSeconds\":60}"))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		String holdId = response.replaceAll(".*\"holdId\":\"([^\"]+)\".*", "$1");
+
+		this.mockMvc.perform(post("/v1/accounts/holds/" + holdId + "/capture")).andExpect(status().isOk());
+		this.mockMvc.perform(post("/v1/accounts/holds/" + holdId + "/release")).andExpect(status().isBadRequest());
+		String settled = this.mockMvc.perform(get("/v1/accounts/holds/" + holdId)).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(settled).contains("\"status\":\"CAPTURED\"");
+
+		assertThat(accountsService.getAccount("Id-444").getBalance()).isEqualByComparingTo("700");
+		assertThat(accountsService.getAccount("Id-555").getBalance()).isEqualByComparingTo("1300");
+	}
+
+	@Test
+	void test_authorizeHoldInsufficientBalance() throws Exception {
+		test_createWithdrawAccount();
+		test_createDepositeAccount();
+		this.mockMvc.perform(post("/v1/accounts/holds").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":5000}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test_getUnknownHold() throws Exception {
+		this.mockMvc.perform(get("/v1/accounts/holds/unknown-hold")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void test_getAccountWithChangesId() throws Exception {
+		accountsService.createAccount(new Account("changes", new BigDecimal(10)));
+		this.mockMvc.perform(get("/v1/accounts/changes")).andExpect(status().isOk())
+				.andExpect(content().string("{\"accountId\":\"changes\",\"balance\":10}"));
+	}
 }
\ No newline at end of file
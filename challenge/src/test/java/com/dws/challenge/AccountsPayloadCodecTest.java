@@ -0,0 +1,145 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import javax.validation.Validator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.TxInfo;
+import com.dws.challenge.exception.InvalidPayloadException;
+import com.dws.challenge.web.AccountsPayloadCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ * Checks that the hand written codec gives the same result as Jackson
+ * databinding and bean validation for the accounts payloads.
+ *
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class AccountsPayloadCodecTest {
+
+	@Autowired
+	private AccountsPayloadCodec payloadCodec;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":500}",
+			"{\"fromAccount\":\"Id-444\",\n  \"toAccount\":\"Id-555\",\n \"amount\": \"500\"\n}",
+			"{\"amount\":123.45,\"toAccount\":\"Id-555\",\"fromAccount\":\"Id-444\"}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":-0.10}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":1.5e3}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":12345678901234567890.123}",
+			"{\"fromAccount\":\"a\",\"toAccount\":\"b\",\"amount\":1e9999999999}",
+			"{\"fromAccount\":\"a\",\"toAccount\":\"b\",\"amount\":\"1e9999999999\"}",
+			"{\"fromAccount\":\"a\",\"toAccount\":\"b\",\"amount\":1e-9999999999}",
+			"{\"fromAccount\":null,\"toAccount\":\"Id-555\",\"amount\":\"500\"}",
+			"{\"fromAccount\":\"\",\"toAccount\":\"Id-555\",\"amount\":\"500\"}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":null}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":\"\"}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":\" 7 \"}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":\"abc\"}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":01}",
+			"{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":true}",
+			"{\"fromAccount\":\"444\",\"toAccount\":\"555\"}",
+			"{\"fromAccount\":444,\"toAccount\":\"555\",\"amount\":1}",
+			"{\"fromAccount\":\"Id-\\u0034\",\"toAccount\":\"Id-555\",\"amount\":1}",
+			"{\"fromAccount\":\"Id-é\",\"toAccount\":\"Id-555\",\"amount\":1}",
+			"{\"fromAccount\":\"a\",\"fromAccount\":\"b\",\"toAccount\":\"c\",\"amount\":1}",
+			"{\"fromAccount\":\"a\",\"toAccount\":\"b\",\"amount\":1,\"note\":\"x\",\"flag\":false}",
+			"{\"fromAccount\":\"a\",\"toAccount\":\"b\",\"amount\":1,\"meta\":{\"k\":[1,2]}}",
+			"{}",
+			" { } ",
+			"null",
+			"[]",
+			"{\"fromAccount\":\"a\",}",
+			"{\"fromAccount\":\"a\"",
+			"{\"fromAccount\":\"a\"} trailing",
+			"not json" })
+	void readTxInfo_matchesJackson(String json) {
+		assertSameAsJackson(json, TxInfo.class, payloadCodec::readTxInfo);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"{\"accountId\":\"Id-123\",\"balance\":1000}",
+			"{\"accountId\":\"Id-123\",\"balance\":123.45}",
+			"{\"accountId\":\"Id-123\",\"balance\":-1000}",
+			"{\"accountId\":\"Id-123\",\"balance\":\"0\"}",
+			"{\"accountId\":\"\",\"balance\":1000}",
+			"{\"accountId\":\" \",\"balance\":1000}",
+			"{\"accountId\":\"Id-123\"}",
+			"{\"balance\":1000}",
+			"{\"accountId\":null,\"balance\":null}",
+			"{\"accountId\":\"Id-123\",\"balance\":-0.0}",
+			"{\"accountId\":\"Id-123\",\"balance\":1E-2}",
+			"{\"accountId\":\"Id-123\",\"balance\":1e-9999999999}",
+			"{\"accountId\":\"Id-123\",\"balance\":\"1e9999999999\"}",
+			"{\"accountId\":\"Id-\\\"q\\\"\",\"balance\":1}",
+			"{\"accountId\":\"Id-123\",\"balance\":1000,\"owner\":\"x\"}",
+			"{}",
+			"null" })
+	void readAccount_matchesJacksonAndBeanValidation(String json) {
+		assertSameAsJackson(json, Account.class, payloadCodec::readAccount);
+
+		Account account;
+		try {
+			account = payloadCodec.readAccount(bytes(json));
+		} catch (InvalidPayloadException ipe) {
+			return;
+		}
+		boolean valid = validator.validate(account).isEmpty();
+		if (valid) {
+			payloadCodec.validateAccount(account);
+		} else {
+			assertThatThrownBy(() -> payloadCodec.validateAccount(account))
+					.isInstanceOf(InvalidPayloadException.class);
+		}
+	}
+
+	@Test
+	void validateAccount_reportsNegativeBalance() {
+		Account account = payloadCodec.readAccount(bytes("{\"accountId\":\"Id-123\",\"balance\":-1}"));
+		assertThatThrownBy(() -> payloadCodec.validateAccount(account))
+				.isInstanceOf(InvalidPayloadException.class)
+				.hasMessage(AccountsPayloadCodec.NEGATIVE_BALANCE);
+	}
+
+	private <T> void assertSameAsJackson(String json, Class<T> type, Function<byte[], T> reader) {
+		T expected;
+		try {
+			expected = objectMapper.readValue(bytes(json), type);
+		} catch (Exception e) {
+			expected = null;
+		}
+
+		if (expected == null) {
+			assertThatThrownBy(() -> reader.apply(bytes(json))).isInstanceOf(InvalidPayloadException.class);
+		} else {
+			assertThat(reader.apply(bytes(json))).isEqualTo(expected);
+		}
+	}
+
+	private static byte[] bytes(String json) {
+		return json.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +13,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.Hold;
 import com.dws.challenge.exception.DuplicateAccountIdException;
 import com.dws.challenge.exception.InsufficientFundsException;
 import com.dws.challenge.exception.InvalidAccountException;
+import com.dws.challenge.exception.InvalidHoldException;
 import com.dws.challenge.exception.InvalidTransferAmount;
+import com.dws.challenge.repository.AccountsRepository;
 import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.BalanceAuditor;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -25,6 +30,9 @@ class AccountsServiceTest {
 	@Autowired
 	private AccountsService accountsService;
 
+	@Autowired
+	private BalanceAuditor balanceAuditor;
+
 	@Test
 	void addAccount() {
 		Account account = new Account("Id-123");
@@ -150,4 +158,135 @@ class AccountsServiceTest {
 			assertThat(ex.getMessage()).isEqualTo("from/to Account not registered");
 		}
 	}
+
+	@Test
+	void test_authorizeHoldReducesAvailableBalanceOnly() {
+		Account withAcc = createAccount("Id-hold-1", 100);
+		createAccount("Id-hold-2", 0);
+
+		this.accountsService.authorizeHold("Id-hold-1", "Id-hold-2", new BigDecimal(60), null);
+
+		assertThat(withAcc.getBalance()).isEqualByComparingTo("100");
+		assertThat(withAcc.getHeldBalance()).isEqualByComparingTo("60");
+		assertThat(withAcc.getAvailableBalance()).isEqualByComparingTo("40");
+		try {
+			this.accountsService.fundTransfer("Id-hold-1", "Id-hold-2", new BigDecimal(50));
+			fail("Should have failed when transfer exceeds available balance");
+		} catch (InsufficientFundsException ex) {
+			assertThat(ex.getMessage()).isEqualTo("Insufficient balance");
+		}
+	}
+
+	@Test
+	void test_captureHoldMovesFunds() {
+		Account withAcc = createAccount("Id-hold-3", 100);
+		Account depoAcc = createAccount("Id-hold-4", 10);
+		Hold hold = this.accountsService.authorizeHold("Id-hold-3", "Id-hold-4", new BigDecimal(60), 60L);
+
+		this.accountsService.captureHold(hold.getHoldId());
+
+		assertThat(hold.getStatus()).isEqualTo(Hold.Status.CAPTURED);
+		assertThat(withAcc.getBalance()).isEqualByComparingTo("40");
+		assertThat(withAcc.getHeldBalance()).isEqualByComparingTo("0");
+		assertThat(depoAcc.getBalance()).isEqualByComparingTo("70");
+		assertThat(this.accountsService.getHold(hold.getHoldId()).getStatus()).isEqualTo(Hold.Status.CAPTURED);
+	}
+
+	@Test
+	void test_releaseHoldRestoresAvailableBalance() {
+		Account withAcc = createAccount("Id-hold-5", 100);
+		createAccount("Id-hold-6", 0);
+		Hold hold = this.accountsService.authorizeHold("Id-hold-5", "Id-hold-6", new BigDecimal(60), 60L);
+
+		this.accountsService.releaseHold(hold.getHoldId());
+
+		assertThat(hold.getStatus()).isEqualTo(Hold.Status.RELEASED);
+		assertThat(withAcc.getBalance()).isEqualByComparingTo("100");
+		assertThat(withAcc.getAvailableBalance()).isEqualByComparingTo("100");
+		try {
+			this.accountsService.captureHold(hold.getHoldId());
+			fail("Should have failed when capturing a released hold");
+		} catch (InvalidHoldException ex) {
+			assertThat(ex.getMessage()).isEqualTo("Hold not found or no longer active");
+		}
+	}
+
+	@Test
+	void test_expiredHoldIsSwept() {
+		// A scratch service, so moving its expiry wheel past the hold leaves
+		// the shared one alone
+		AccountsService service = new ScratchAccounts(8).accountsService;
+		Account withAcc = new Account("Id-hold-7", new BigDecimal(100));
+		service.createAccount(withAcc);
+		service.createAccount(new Account("Id-hold-8", new BigDecimal(0)));
+		Hold hold = service.authorizeHold("Id-hold-7", "Id-hold-8", new BigDecimal(60), 1L);
+
+		service.expireHolds(hold.getExpiresAt() + 1000);
+
+		assertThat(hold.getStatus()).isEqualTo(Hold.Status.EXPIRED);
+		assertThat(withAcc.getAvailableBalance()).isEqualByComparingTo("100");
+	}
+
+	@Test
+	void test_settledHoldIsForgottenAfterRetention() {
+		// A scratch service, so moving its expiry wheel an hour ahead leaves the
+		// shared one alone
+		AccountsService service = new ScratchAccounts(8).accountsService;
+		service.createAccount(new Account("Id-hold-13", new BigDecimal(100)));
+		service.createAccount(new Account("Id-hold-14", new BigDecimal(0)));
+		Hold hold = service.authorizeHold("Id-hold-13", "Id-hold-14", new BigDecimal(60), 60L);
+		service.releaseHold(hold.getHoldId());
+		long settledAt = System.currentTimeMillis();
+
+		service.expireHolds(settledAt + 1000);
+		assertThat(service.getHold(hold.getHoldId()).getStatus()).isEqualTo(Hold.Status.RELEASED);
+
+		service.expireHolds(settledAt + TimeUnit.SECONDS.toMillis(AccountsService.SETTLED_HOLD_RETENTION_SECONDS) + 1000);
+		assertThat(service.getHold(hold.getHoldId())).isNull();
+	}
+
+	@Test
+	void test_authorizeHoldFailsOnInsufficientBalance() {
+		createAccount("Id-hold-9", 100);
+		createAccount("Id-hold-10", 0);
+		try {
+			this.accountsService.authorizeHold("Id-hold-9", "Id-hold-10", new BigDecimal(101), null);
+			fail("Should have failed when hold exceeds available balance");
+		} catch (InsufficientFundsException ex) {
+			assertThat(ex.getMessage()).isEqualTo("Insufficient balance");
+		}
+	}
+
+	@Test
+	void test_authorizeHoldFailsOnInvalidTtl() {
+		createAccount("Id-hold-11", 100);
+		createAccount("Id-hold-12", 0);
+		try {
+			this.accountsService.authorizeHold("Id-hold-11", "Id-hold-12", new BigDecimal(1), 0L);
+			fail("Should have failed when hold expiry is invalid");
+		} catch (InvalidHoldException ex) {
+			assertThat(ex.getMessage()).isEqualTo("Hold expiry should be between 1 and 604800 seconds");
+		}
+	}
+
+	@Test
+	void test_clearAccountsResetsBalanceAudit() {
+		createAccount("Id-audit-1", 100);
+		createAccount("Id-audit-2", 0);
+		this.accountsService.fundTransfer("Id-audit-1", "Id-audit-2", new BigDecimal(40));
+		long mismatches = this.balanceAuditor.getMismatchCount();
+
+		this.accountsService.getAccountsRepository().clearAccounts();
+		for (int i = 0; i < 2 * AccountsRepository.SHARD_COUNT; i++) {
+			this.balanceAuditor.scanNextShard();
+		}
+
+		assertThat(this.balanceAuditor.getMismatchCount()).isEqualTo(mismatches);
+	}
+
+	private Account createAccount(String accountId, int balance) {
+		Account account = new Account(accountId, new BigDecimal(balance));
+		this.accountsService.createAccount(account);
+		return account;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.repository.AccountsRepository;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.BalanceAuditor;
+
+class BalanceAuditorTest {
+
+	private BalanceAuditor balanceAuditor;
+	private AccountsService accountsService;
+
+	@BeforeEach
+	void setUp() {
+		ScratchAccounts scratch = new ScratchAccounts(1024);
+		balanceAuditor = scratch.balanceAuditor;
+		accountsService = scratch.accountsService;
+
+		for (int i = 0; i < 100; i++) {
+			accountsService.createAccount(new Account("Id-" + i, new BigDecimal("1000.50")));
+		}
+	}
+
+	@Test
+	void transfersKeepAuditConsistent() {
+		for (int i = 0; i < 1000; i++) {
+			accountsService.fundTransfer("Id-" + (i % 100), "Id-" + ((i * 7 + 1) % 100), new BigDecimal("3.25"));
+		}
+		scanPasses(2);
+
+		assertThat(balanceAuditor.getMismatchCount()).isZero();
+	}
+
+	@Test
+	void balanceChangedOutsideServiceRaisesAlarm() {
+		accountsService.getAccount("Id-42").setBalance(new BigDecimal("5000"));
+		scanPasses(2);
+
+		assertThat(balanceAuditor.getMismatchCount()).isPositive();
+	}
+
+	@Test
+	void unbalancedChangeBreaksTotal() {
+		Account account = accountsService.getAccount("Id-7");
+		BigDecimal previous = account.getBalance();
+		account.setBalance(previous.subtract(BigDecimal.ONE));
+		balanceAuditor.recordChange(account, previous);
+		scanPasses(2);
+
+		assertThat(balanceAuditor.getMismatchCount()).isEqualTo(1);
+	}
+
+	@Test
+	void transfersBeyondAuditScaleKeepAuditConsistent() {
+		accountsService.createAccount(new Account("Id-large", new BigDecimal("9e30")));
+		for (int i = 0; i < 200; i++) {
+			accountsService.fundTransfer("Id-" + (i % 100), "Id-" + ((i * 7 + 1) % 100), new BigDecimal("0.000013"));
+		}
+		accountsService.fundTransfer("Id-large", "Id-3", new BigDecimal("1e20"));
+		scanPasses(2);
+
+		assertThat(balanceAuditor.getMismatchCount()).isZero();
+	}
+
+	@Test
+	void unbalancedChangeAfterSubScaleTransferBreaksTotal() {
+		accountsService.fundTransfer("Id-1", "Id-2", new BigDecimal("0.00001"));
+		Account account = accountsService.getAccount("Id-7");
+		BigDecimal previous = account.getBalance();
+		account.setBalance(previous.subtract(BigDecimal.TEN));
+		balanceAuditor.recordChange(account, previous);
+		scanPasses(2);
+
+		assertThat(balanceAuditor.getMismatchCount()).isEqualTo(1);
+	}
+
+	private void scanPasses(int passes) {
+		for (int i = 0; i < passes * AccountsRepository.SHARD_COUNT; i++) {
+			balanceAuditor.scanNextShard();
+		}
+	}
+}
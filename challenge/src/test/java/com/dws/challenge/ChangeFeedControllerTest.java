@@ -0,0 +1,133 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.BalanceChangeEvent;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.ChangeFeed;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "challenge.change-feed.capacity=8")
+@WebAppConfiguration
+class ChangeFeedControllerTest {
+
+	private static final long TIMEOUT_MS = 5000;
+
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccountsService accountsService;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@BeforeEach
+	void prepareMockMvc() {
+		this.mockMvc = webAppContextSetup(this.webApplicationContext).build();
+		accountsService.getAccountsRepository().clearAccounts();
+	}
+
+	@Test
+	void streamsEventsWithSequenceAsId() throws Exception {
+		long sequence = changeFeed.getNextSequence();
+		MvcResult result = subscribe(get("/v1/account-changes"));
+
+		accountsService.createAccount(new Account("Id-sse-1", new BigDecimal(100)));
+
+		String content = awaitContent(result, "Id-sse-1");
+		assertThat(content).startsWith("id:" + sequence + "\nevent:balance-change\ndata:");
+		assertThat(content).contains("\"sequence\":" + sequence, "\"type\":\"CREATED\"");
+	}
+
+	@Test
+	void lastEventIdResumesAfterTheEvent() throws Exception {
+		long sequence = createAccounts("Id-sse-resume-header-", 3);
+
+		MvcResult result = subscribe(get("/v1/account-changes").header("Last-Event-ID", sequence));
+
+		String content = awaitContent(result, "id:" + (sequence + 2) + "\n");
+		assertThat(content).startsWith("id:" + (sequence + 1) + "\n");
+	}
+
+	@Test
+	void fromSequenceResumesAtTheEvent() throws Exception {
+		long sequence = createAccounts("Id-sse-resume-param-", 3);
+
+		MvcResult result = subscribe(get("/v1/account-changes").param("fromSequence", Long.toString(sequence)));
+
+		String content = awaitContent(result, "id:" + (sequence + 2) + "\n");
+		assertThat(content).startsWith("id:" + sequence + "\n");
+	}
+
+	@Test
+	void resumeFromOverwrittenSequenceIsGone() throws Exception {
+		createAccounts("Id-sse-gone-", 9);
+
+		this.mockMvc.perform(get("/v1/account-changes").param("fromSequence", "1")).andExpect(status().isGone());
+	}
+
+	@Test
+	void overrunSubscriberIsDroppedAndCompleted() throws Exception {
+		MvcResult result = subscribe(get("/v1/account-changes"));
+
+		// Far more than the ring holds, faster than an idle subscriber polls
+		Account account = new Account("Id-sse-flood", BigDecimal.ONE);
+		for (int i = 0; i < 10_000; i++) {
+			changeFeed.publish(BalanceChangeEvent.Type.CREDITED, account, BigDecimal.ONE);
+		}
+
+		result.getAsyncResult(TIMEOUT_MS);
+		assertThat(result.getResponse().getContentAsString())
+				.endsWith("event:dropped\ndata:" + ChangeFeed.OVERRUN + "\n\n");
+	}
+
+	private MvcResult subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+		return this.mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	/**
+	 * Returns the sequence of the first created account.
+	 */
+	private long createAccounts(String prefix, int count) {
+		long sequence = changeFeed.getNextSequence();
+		for (int i = 0; i < count; i++) {
+			accountsService.createAccount(new Account(prefix + i, BigDecimal.TEN));
+		}
+		return sequence;
+	}
+
+	private static String awaitContent(MvcResult result, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		String content;
+		while (!(content = result.getResponse().getContentAsString()).contains(expected)) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Timed out waiting for " + expected + " in " + content);
+			}
+			Thread.sleep(10);
+		}
+		return content;
+	}
+}
@@ -0,0 +1,87 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.BalanceChangeEvent;
+import com.dws.challenge.exception.ChangeFeedOverrunException;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.ChangeFeed;
+
+class ChangeFeedTest {
+
+	private ChangeFeed changeFeed;
+	private AccountsService accountsService;
+
+	@BeforeEach
+	void setUp() {
+		ScratchAccounts scratch = new ScratchAccounts(8);
+		changeFeed = scratch.changeFeed;
+		accountsService = scratch.accountsService;
+	}
+
+	@Test
+	void publishesCommittedChangesInOrder() {
+		accountsService.createAccount(new Account("Id-1", new BigDecimal(100)));
+		accountsService.createAccount(new Account("Id-2", new BigDecimal(0)));
+		accountsService.fundTransfer("Id-1", "Id-2", new BigDecimal(30));
+
+		List<BalanceChangeEvent> events = new ArrayList<>();
+		long next = changeFeed.read(1, 10, events);
+
+		assertThat(next).isEqualTo(5);
+		assertThat(events).extracting(BalanceChangeEvent::getSequence).containsExactly(1L, 2L, 3L, 4L);
+		assertThat(events).extracting(BalanceChangeEvent::getType).containsExactly(BalanceChangeEvent.Type.CREATED,
+				BalanceChangeEvent.Type.CREATED, BalanceChangeEvent.Type.DEBITED, BalanceChangeEvent.Type.CREDITED);
+		assertThat(events.get(2).getBalance()).isEqualByComparingTo("70");
+		assertThat(events.get(3).getBalance()).isEqualByComparingTo("30");
+	}
+
+	@Test
+	void failedTransferPublishesNothing() {
+		accountsService.createAccount(new Account("Id-1", new BigDecimal(10)));
+		accountsService.createAccount(new Account("Id-2", new BigDecimal(0)));
+		try {
+			accountsService.fundTransfer("Id-1", "Id-2", new BigDecimal(30));
+		} catch (RuntimeException expected) {
+			// insufficient balance
+		}
+
+		assertThat(changeFeed.getNextSequence()).isEqualTo(3);
+	}
+
+	@Test
+	void resumesFromSequenceInBatches() {
+		for (int i = 0; i < 5; i++) {
+			accountsService.createAccount(new Account("Id-" + i, BigDecimal.ONE));
+		}
+
+		List<BalanceChangeEvent> events = new ArrayList<>();
+		long next = changeFeed.read(2, 2, events);
+		assertThat(events).extracting(BalanceChangeEvent::getSequence).containsExactly(2L, 3L);
+
+		events.clear();
+		next = changeFeed.read(next, 10, events);
+		assertThat(events).extracting(BalanceChangeEvent::getSequence).containsExactly(4L, 5L);
+		assertThat(next).isEqualTo(6);
+	}
+
+	@Test
+	void slowReaderIsOverrun() {
+		for (int i = 0; i < 10; i++) {
+			accountsService.createAccount(new Account("Id-" + i, BigDecimal.ONE));
+		}
+
+		assertThat(changeFeed.getOldestSequence()).isEqualTo(3);
+		assertThatThrownBy(() -> changeFeed.read(1, 10, new ArrayList<>()))
+				.isInstanceOf(ChangeFeedOverrunException.class);
+	}
+}
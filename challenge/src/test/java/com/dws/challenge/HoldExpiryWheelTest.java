@@ -0,0 +1,42 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.dws.challenge.service.HoldExpiryWheel;
+
+class HoldExpiryWheelTest {
+
+	private final HoldExpiryWheel wheel = new HoldExpiryWheel(100, 8, 1000);
+
+	@Test
+	void firesEntriesOnTheirTick() {
+		wheel.schedule("late", 1350);
+		wheel.schedule("past", 900);
+
+		assertThat(wheel.advance(1100)).containsExactly("past");
+		assertThat(wheel.advance(1300)).isEmpty();
+		assertThat(wheel.advance(1400)).containsExactly("late");
+	}
+
+	@Test
+	void waitsForRemainingRounds() {
+		// Two full turns of the wheel past the slot it lands in
+		wheel.schedule("far", 1000 + 100 * 8 * 2 + 300);
+
+		assertThat(wheel.advance(2800)).isEmpty();
+		assertThat(wheel.advance(2900)).containsExactly("far");
+	}
+
+	@Test
+	void cancelledAndRescheduledEntriesDoNotFire() {
+		wheel.schedule("cancelled", 1300);
+		wheel.schedule("moved", 1300);
+		wheel.cancel("cancelled");
+		wheel.schedule("moved", 2000);
+
+		assertThat(wheel.advance(1900)).isEmpty();
+		assertThat(wheel.advance(2000)).containsExactly("moved");
+	}
+}
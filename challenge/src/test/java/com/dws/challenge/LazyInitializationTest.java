@@ -0,0 +1,30 @@
+package com.dws.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+class LazyInitializationTest {
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Test
+	void servingAndScheduledBeansStayEager() {
+		assertThat(beanFactory.getBeanDefinition("accountsController").isLazyInit()).isFalse();
+		assertThat(beanFactory.getBeanDefinition("accountsPayloadCodec").isLazyInit()).isFalse();
+		assertThat(beanFactory.getBeanDefinition("accountsService").isLazyInit()).isFalse();
+		assertThat(beanFactory.getBeanDefinition("accountsRepositoryInMemory").isLazyInit()).isFalse();
+		assertThat(beanFactory.getBeanDefinition("balanceAuditor").isLazyInit()).isFalse();
+		assertThat(beanFactory.getBeanDefinition("changeFeedController").isLazyInit()).isFalse();
+	}
+
+	@Test
+	void otherBeansStayLazy() {
+		assertThat(beanFactory.getBeanDefinition("notificationService").isLazyInit()).isTrue();
+	}
+}
@@ -0,0 +1,29 @@
+package com.dws.challenge;
+
+import com.dws.challenge.repository.AccountsRepositoryInMemory;
+import com.dws.challenge.service.AccountsService;
+import com.dws.challenge.service.BalanceAuditor;
+import com.dws.challenge.service.ChangeFeed;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ *
+ * An accounts service wired by hand, outside the application context, with
+ * no notifications and no events from the repository.
+ *
+ */
+class ScratchAccounts {
+
+	final AccountsRepositoryInMemory accountsRepository = new AccountsRepositoryInMemory(event -> {
+	});
+	final BalanceAuditor balanceAuditor = new BalanceAuditor(accountsRepository, new SimpleMeterRegistry());
+	final ChangeFeed changeFeed;
+	final AccountsService accountsService;
+
+	ScratchAccounts(int changeFeedCapacity) {
+		this.changeFeed = new ChangeFeed(changeFeedCapacity);
+		this.accountsService = new AccountsService(accountsRepository, (account, transferDescription) -> {
+		}, balanceAuditor, changeFeed);
+	}
+}
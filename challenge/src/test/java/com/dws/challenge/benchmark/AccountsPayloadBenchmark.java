@@ -0,0 +1,90 @@
+package com.dws.challenge.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dws.challenge.domain.Account;
+import com.dws.challenge.domain.TxInfo;
+import com.dws.challenge.web.AccountsPayloadCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ * Parse plus validate cost per request, codec against Jackson databinding
+ * and bean validation. Run {@link #main(String[])} after
+ * {@code mvn test-compile} with the test classpath.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountsPayloadBenchmark {
+
+	private final byte[] accountBody = "{\"accountId\":\"Id-123\",\"balance\":1000.50}"
+			.getBytes(StandardCharsets.UTF_8);
+	private final byte[] txInfoBody = "{\"fromAccount\":\"Id-444\",\"toAccount\":\"Id-555\",\"amount\":\"500\"}"
+			.getBytes(StandardCharsets.UTF_8);
+
+	private ObjectMapper objectMapper;
+	private Validator validator;
+	private AccountsPayloadCodec payloadCodec;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+		payloadCodec = new AccountsPayloadCodec(objectMapper);
+	}
+
+	@Benchmark
+	public Account account_codec() {
+		Account account = payloadCodec.readAccount(accountBody);
+		payloadCodec.validateAccount(account);
+		return account;
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Account>> account_jackson() throws Exception {
+		Account account = objectMapper.readValue(accountBody, Account.class);
+		return validator.validate(account);
+	}
+
+	@Benchmark
+	public TxInfo txInfo_codec() {
+		return payloadCodec.readTxInfo(txInfoBody);
+	}
+
+	@Benchmark
+	public TxInfo txInfo_jackson() throws Exception {
+		return objectMapper.readValue(txInfoBody, TxInfo.class);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder().include(AccountsPayloadBenchmark.class.getSimpleName()).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,161 @@
+package com.dws.challenge.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ * Starts the packaged application in a child JVM and reports time to ready
+ * and time to peak throughput. Ready is the first 200 from the readiness
+ * probe, which Spring Boot only reports after the ready event, so warm-up
+ * is included. Peak is the first 250 ms window that reaches 90% of the best
+ * window seen during the run.
+ *
+ * Usage, after {@code mvn -Pfast-start package} and {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes com.dws.challenge.benchmark.StartupBenchmark \
+ *     [jvm options...] -jar target/challenge-0.0.1-SNAPSHOT.jar
+ * </pre>
+ * Compare a run with {@code -XX:SharedArchiveFile=target/challenge.jsa
+ * -Dspring.profiles.active=fast-start} against a plain run.
+ *
+ */
+public class StartupBenchmark {
+
+	private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+	private static final int WINDOWS = 120;
+	private static final int CLIENT_THREADS = 4;
+	private static final double PEAK_FRACTION = 0.9;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("Usage: StartupBenchmark [jvm options...] -jar <application jar>");
+			System.exit(1);
+		}
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-Dserver.port=" + port);
+		command.addAll(Arrays.asList(args));
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+		String rootUrl = "http://localhost:" + port;
+		String baseUrl = rootUrl + "/v1/accounts";
+
+		long launched = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+		try {
+			long ready = awaitReady(client, rootUrl, process) - launched;
+			createAccount(client, baseUrl, "bench-a");
+			createAccount(client, baseUrl, "bench-b");
+
+			AtomicLongArray completed = new AtomicLongArray(WINDOWS);
+			long loadStart = System.nanoTime();
+			drive(client, baseUrl, completed, loadStart);
+
+			long best = 0;
+			for (int w = 0; w < WINDOWS; w++) {
+				best = Math.max(best, completed.get(w));
+			}
+			int peakWindow = 0;
+			while (completed.get(peakWindow) < best * PEAK_FRACTION) {
+				peakWindow++;
+			}
+			long toPeak = loadStart - launched + (peakWindow + 1) * WINDOW_NANOS;
+
+			System.out.printf("time-to-ready: %d ms%n", TimeUnit.NANOSECONDS.toMillis(ready));
+			System.out.printf("time-to-peak-throughput: %d ms%n", TimeUnit.NANOSECONDS.toMillis(toPeak));
+			System.out.printf("peak throughput: %d req/s%n", best * TimeUnit.SECONDS.toNanos(1) / WINDOW_NANOS);
+		} finally {
+			process.destroy();
+			process.waitFor(10, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Polls the readiness probe. It answers 503 while the application is still
+	 * refusing traffic, and fails to connect before the port is open.
+	 */
+	private static long awaitReady(HttpClient client, String rootUrl, Process process) throws Exception {
+		HttpRequest probe = HttpRequest.newBuilder(URI.create(rootUrl + "/actuator/health/readiness")).GET().build();
+		while (true) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with code " + process.exitValue());
+			}
+			try {
+				if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return System.nanoTime();
+				}
+			} catch (IOException notListeningYet) {
+				// Port not open yet
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private static void createAccount(HttpClient client, String baseUrl, String accountId) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"accountId\":\"" + accountId + "\",\"balance\":1000000000}"))
+				.build();
+		client.send(request, HttpResponse.BodyHandlers.discarding());
+	}
+
+	/**
+	 * Closed-loop transfers back and forth between the two accounts, counting
+	 * completions per window.
+	 */
+	private static void drive(HttpClient client, String baseUrl, AtomicLongArray completed, long loadStart)
+			throws InterruptedException {
+		HttpRequest[] transfers = { transfer(baseUrl, "bench-a", "bench-b"), transfer(baseUrl, "bench-b", "bench-a") };
+		long loadEnd = loadStart + WINDOWS * WINDOW_NANOS;
+		ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+		for (int t = 0; t < CLIENT_THREADS; t++) {
+			executor.execute(() -> {
+				int i = 0;
+				while (System.nanoTime() < loadEnd) {
+					try {
+						client.send(transfers[i++ & 1], HttpResponse.BodyHandlers.discarding());
+					} catch (IOException | InterruptedException e) {
+						return;
+					}
+					int window = (int) ((System.nanoTime() - loadStart) / WINDOW_NANOS);
+					if (window < WINDOWS) {
+						completed.incrementAndGet(window);
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(WINDOWS * WINDOW_NANOS + TimeUnit.SECONDS.toNanos(10), TimeUnit.NANOSECONDS);
+	}
+
+	private static HttpRequest transfer(String baseUrl, String from, String to) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + "/transferFunds"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"fromAccount\":\"" + from + "\",\"toAccount\":\"" + to + "\",\"amount\":1}"))
+				.build();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.dws.challenge.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ * Aggregated results of a run, written as report.json, report.html and one
+ * HdrHistogram percentile distribution (.hgrm) per operation. Throughput is
+ * the achieved rate: measured requests over the time from the start of the
+ * measurement to the last completion. It falls below the target rate when
+ * the service cannot keep up.
+ *
+ */
+class LatencyReport {
+
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+	private static final String ALL = "ALL";
+
+	private final LoadOptions options;
+	private final long measureStart;
+	private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+
+	LatencyReport(LoadOptions options, long measureStart) {
+		this.options = options;
+		this.measureStart = measureStart;
+		for (Operation operation : Operation.values()) {
+			stats.put(operation.name(), new OperationStats());
+		}
+		stats.put(ALL, new OperationStats());
+	}
+
+	void add(OperationStats[] workerStats) {
+		for (Operation operation : Operation.values()) {
+			stats.get(operation.name()).add(workerStats[operation.ordinal()]);
+			stats.get(ALL).add(workerStats[operation.ordinal()]);
+		}
+	}
+
+	double p99Millis() {
+		return stats.get(ALL).corrected.getValueAtPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	void write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("target", options.target);
+		json.put("targetRate", options.rate);
+		json.put("achievedRate", throughput(stats.get(ALL).corrected));
+		json.put("durationSeconds", options.durationSeconds);
+		json.put("concurrency", options.concurrency);
+		json.put("accounts", options.accounts);
+		json.put("skew", options.skew);
+		json.put("mix", options.createWeight + ":" + options.getWeight + ":" + options.transferWeight);
+		Map<String, Object> operations = new LinkedHashMap<>();
+		stats.forEach((name, operationStats) -> operations.put(name, summary(operationStats)));
+		json.put("operations", operations);
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("report.json").toFile(), json);
+
+		Files.write(directory.resolve("report.html"), html().getBytes(StandardCharsets.UTF_8));
+
+		for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+			try (PrintStream out = new PrintStream(
+					Files.newOutputStream(directory.resolve(entry.getKey().toLowerCase(Locale.ROOT) + ".hgrm")), false,
+					StandardCharsets.UTF_8.name())) {
+				entry.getValue().corrected.outputPercentileDistribution(out, NANOS_PER_MILLI);
+			}
+		}
+	}
+
+	void print(PrintStream out) {
+		out.printf(Locale.ROOT, "target %.1f req/s, achieved %.1f req/s%n", options.rate,
+				throughput(stats.get(ALL).corrected));
+		out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s%n", "operation", "count", "errors", "req/s", "p50 ms",
+				"p99 ms", "p99.9 ms", "max ms");
+		stats.forEach((name, operationStats) -> {
+			Histogram corrected = operationStats.corrected;
+			out.printf(Locale.ROOT, "%-10s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n", name,
+					corrected.getTotalCount(), operationStats.errors, throughput(corrected), millis(corrected, 50),
+					millis(corrected, 99), millis(corrected, 99.9), corrected.getMaxValue() / NANOS_PER_MILLI);
+		});
+	}
+
+	private Map<String, Object> summary(OperationStats operationStats) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", operationStats.corrected.getTotalCount());
+		summary.put("errors", operationStats.errors);
+		summary.put("throughput", throughput(operationStats.corrected));
+		summary.put("latencyMillis", percentiles(operationStats.corrected));
+		summary.put("serviceTimeMillis", percentiles(operationStats.serviceTime));
+		return summary;
+	}
+
+	private static Map<String, Object> percentiles(Histogram histogram) {
+		Map<String, Object> percentiles = new LinkedHashMap<>();
+		for (double percentile : PERCENTILES) {
+			percentiles.put("p" + format(percentile), millis(histogram, percentile));
+		}
+		percentiles.put("max", histogram.getMaxValue() / NANOS_PER_MILLI);
+		return percentiles;
+	}
+
+	private String html() {
+		StringBuilder html = new StringBuilder();
+		html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load report</title>\n")
+				.append("<style>body{font-family:sans-serif}td,th{padding:4px 10px;text-align:right}</style>")
+				.append("</head><body>\n<h1>Accounts API load report</h1>\n<p>")
+				.append(String.format(Locale.ROOT, "Target %s, %.0f req/s for %d s, concurrency %d, %d accounts, "
+						+ "skew %.2f, mix create:get:transfer %d:%d:%d", escape(options.target), options.rate,
+						options.durationSeconds, options.concurrency, options.accounts, options.skew,
+						options.createWeight, options.getWeight, options.transferWeight))
+				.append(String.format(Locale.ROOT, "</p>\n<p>Achieved %.1f req/s against the target of %.0f req/s.",
+						throughput(stats.get(ALL).corrected), options.rate))
+				.append("</p>\n<p>Latency is corrected for coordinated omission, in milliseconds. ")
+				.append("Service time is shown in parentheses.</p>\n<table>\n<tr><th>operation</th><th>count</th>")
+				.append("<th>errors</th><th>req/s</th>");
+		for (double percentile : PERCENTILES) {
+			html.append("<th>p").append(format(percentile)).append("</th>");
+		}
+		html.append("<th>max</th></tr>\n");
+		stats.forEach((name, operationStats) -> {
+			Histogram corrected = operationStats.corrected;
+			Histogram serviceTime = operationStats.serviceTime;
+			html.append("<tr><th>").append(name).append("</th><td>").append(corrected.getTotalCount())
+					.append("</td><td>").append(operationStats.errors).append("</td><td>")
+					.append(String.format(Locale.ROOT, "%.1f", throughput(corrected))).append("</td>");
+			for (double percentile : PERCENTILES) {
+				html.append(String.format(Locale.ROOT, "<td>%.3f (%.3f)</td>", millis(corrected, percentile),
+						millis(serviceTime, percentile)));
+			}
+			html.append(String.format(Locale.ROOT, "<td>%.3f</td></tr>\n", corrected.getMaxValue() / NANOS_PER_MILLI));
+		});
+		return html.append("</table>\n</body></html>\n").toString();
+	}
+
+	private double throughput(Histogram histogram) {
+		long elapsedNanos = stats.get(ALL).lastCompletion - measureStart;
+		if (histogram.getTotalCount() == 0 || elapsedNanos <= 0) {
+			return 0;
+		}
+		return histogram.getTotalCount() * 1e9 / elapsedNanos;
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+	}
+
+	private static String format(double percentile) {
+		return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+	}
+
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+}
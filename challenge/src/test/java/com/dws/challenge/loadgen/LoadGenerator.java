@@ -0,0 +1,223 @@
+package com.dws.challenge.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dws.challenge.ChallengeApplication;
+
+/**
+ *
+ * Open-loop load generator for the accounts API. Requests are issued on a
+ * fixed schedule derived from the target rate, whatever the response times.
+ * Latency is measured from the intended start of each request, not the actual
+ * send time, so a stalled server cannot hide its queueing delay (coordinated
+ * omission). The uncorrected service time is recorded next to it.
+ *
+ * Usage, with the test classpath:
+ * <pre>
+ * java com.dws.challenge.loadgen.LoadGenerator --rate=2000 --duration=60 --mix=5:45:50 --skew=0.99
+ * </pre>
+ * See {@link LoadOptions} for all options. The JSON, HTML and .hgrm results
+ * are written to --report-dir. The exit code is 1 when --slo-p99-ms is
+ * exceeded.
+ *
+ */
+public class LoadGenerator {
+
+	private final LoadOptions options;
+	private final String baseUrl;
+	private final String runId = Long.toString(System.currentTimeMillis(), 36);
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final AtomicLong createdAccounts = new AtomicLong();
+	private final double[] accountCdf;
+
+	LoadGenerator(LoadOptions options, String baseUrl) {
+		this.options = options;
+		this.baseUrl = baseUrl;
+		this.accountCdf = zipfCdf(options.accounts, options.skew);
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadOptions options = LoadOptions.parse(args);
+		ConfigurableApplicationContext context = null;
+		String baseUrl = options.target;
+		if ("in-process".equals(options.target)) {
+			context = SpringApplication.run(ChallengeApplication.class, "--server.port=0",
+					"--logging.level.com.dws.challenge=WARN");
+			baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+		}
+		try {
+			LatencyReport report = new LoadGenerator(options, baseUrl).run();
+			report.write(Paths.get(options.reportDir));
+			report.print(System.out);
+			if (options.sloP99Millis > 0 && report.p99Millis() > options.sloP99Millis) {
+				System.out.printf("SLO violated: p99 %.3f ms > %.3f ms%n", report.p99Millis(), options.sloP99Millis);
+				System.exit(1);
+			}
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	LatencyReport run() throws Exception {
+		for (int i = 0; i < options.accounts; i++) {
+			send(createRequest(accountId(i)));
+		}
+
+		double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+		long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+		long measureStart = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+		long end = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+		List<Worker> workers = new ArrayList<>();
+		for (int k = 0; k < options.concurrency; k++) {
+			Worker worker = new Worker(k, start, measureStart, end, intervalNanos);
+			workers.add(worker);
+			worker.start();
+		}
+		LatencyReport report = new LatencyReport(options, measureStart);
+		for (Worker worker : workers) {
+			worker.join();
+			report.add(worker.stats);
+		}
+		return report;
+	}
+
+	/**
+	 * Each worker owns every concurrency-th slot of the global schedule and its
+	 * own histograms, so recording is free of contention.
+	 */
+	private class Worker extends Thread {
+
+		private final int index;
+		private final long start;
+		private final long measureStart;
+		private final long end;
+		private final double intervalNanos;
+		final OperationStats[] stats = OperationStats.forAllOperations();
+
+		Worker(int index, long start, long measureStart, long end, double intervalNanos) {
+			super("loadgen-" + index);
+			this.index = index;
+			this.start = start;
+			this.measureStart = measureStart;
+			this.end = end;
+			this.intervalNanos = intervalNanos;
+		}
+
+		@Override
+		public void run() {
+			for (long slot = index;; slot += options.concurrency) {
+				long intended = start + (long) (slot * intervalNanos);
+				if (intended >= end) {
+					return;
+				}
+				long now;
+				while ((now = System.nanoTime()) < intended) {
+					LockSupport.parkNanos(intended - now);
+				}
+
+				Operation operation = pickOperation();
+				int status = send(buildRequest(operation));
+				long done = System.nanoTime();
+				if (intended >= measureStart) {
+					stats[operation.ordinal()].record(done - intended, done - now, status, done);
+				}
+			}
+		}
+	}
+
+	private int send(HttpRequest request) {
+		try {
+			return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+		} catch (IOException ioe) {
+			return -1;
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+	}
+
+	private Operation pickOperation() {
+		int total = options.createWeight + options.getWeight + options.transferWeight;
+		int pick = ThreadLocalRandom.current().nextInt(total);
+		if (pick < options.createWeight) {
+			return Operation.CREATE;
+		}
+		return pick < options.createWeight + options.getWeight ? Operation.GET : Operation.TRANSFER;
+	}
+
+	private HttpRequest buildRequest(Operation operation) {
+		switch (operation) {
+		case CREATE:
+			return createRequest("lg-" + runId + "-new-" + createdAccounts.getAndIncrement());
+		case GET:
+			return HttpRequest.newBuilder(URI.create(baseUrl + "/v1/accounts/" + accountId(pickAccount()))).GET()
+					.build();
+		default:
+			int from = pickAccount();
+			int to = pickAccount();
+			if (to == from) {
+				to = (from + 1) % options.accounts;
+			}
+			return jsonPost(baseUrl + "/v1/accounts/transferFunds", "{\"fromAccount\":\"" + accountId(from)
+					+ "\",\"toAccount\":\"" + accountId(to) + "\",\"amount\":1}");
+		}
+	}
+
+	private HttpRequest createRequest(String accountId) {
+		return jsonPost(baseUrl + "/v1/accounts", "{\"accountId\":\"" + accountId + "\",\"balance\":1000000000}");
+	}
+
+	private static HttpRequest jsonPost(String url, String body) {
+		return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+	}
+
+	private String accountId(int index) {
+		return "lg-" + runId + "-" + index;
+	}
+
+	private int pickAccount() {
+		double u = ThreadLocalRandom.current().nextDouble();
+		int low = 0;
+		int high = accountCdf.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (accountCdf[mid] < u) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static double[] zipfCdf(int accounts, double skew) {
+		double[] cdf = new double[accounts];
+		double sum = 0;
+		for (int i = 0; i < accounts; i++) {
+			sum += 1 / Math.pow(i + 1, skew);
+			cdf[i] = sum;
+		}
+		for (int i = 0; i < accounts; i++) {
+			cdf[i] /= sum;
+		}
+		return cdf;
+	}
+}
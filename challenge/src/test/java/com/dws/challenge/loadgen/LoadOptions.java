@@ -0,0 +1,82 @@
+package com.dws.challenge.loadgen;
+
+/**
+ *
+ * Command line options of the load generator, given as --name=value.
+ *
+ */
+class LoadOptions {
+
+	/** "in-process" to boot the application in this JVM, or the base URL of a running instance. */
+	String target = "in-process";
+	double rate = 1000;
+	int durationSeconds = 30;
+	int warmupSeconds = 5;
+	int concurrency = 32;
+	int accounts = 1000;
+	/** Zipf exponent of the account popularity, 0 for uniform. */
+	double skew = 0.99;
+	int createWeight = 5;
+	int getWeight = 45;
+	int transferWeight = 50;
+	String reportDir = "target/loadgen";
+	/** Fails the run when the corrected p99 of all requests is above this, 0 to disable. */
+	double sloP99Millis = 0;
+
+	static LoadOptions parse(String[] args) {
+		LoadOptions options = new LoadOptions();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (!arg.startsWith("--") || separator < 0) {
+				throw new IllegalArgumentException("Expected --name=value but got " + arg);
+			}
+			String name = arg.substring(2, separator);
+			String value = arg.substring(separator + 1);
+			switch (name) {
+			case "target":
+				options.target = value;
+				break;
+			case "rate":
+				options.rate = Double.parseDouble(value);
+				break;
+			case "duration":
+				options.durationSeconds = Integer.parseInt(value);
+				break;
+			case "warmup":
+				options.warmupSeconds = Integer.parseInt(value);
+				break;
+			case "concurrency":
+				options.concurrency = Integer.parseInt(value);
+				break;
+			case "accounts":
+				options.accounts = Integer.parseInt(value);
+				break;
+			case "skew":
+				options.skew = Double.parseDouble(value);
+				break;
+			case "mix":
+				String[] weights = value.split(":");
+				if (weights.length != 3) {
+					throw new IllegalArgumentException("Expected --mix=create:get:transfer but got " + value);
+				}
+				options.createWeight = Integer.parseInt(weights[0]);
+				options.getWeight = Integer.parseInt(weights[1]);
+				options.transferWeight = Integer.parseInt(weights[2]);
+				break;
+			case "report-dir":
+				options.reportDir = value;
+				break;
+			case "slo-p99-ms":
+				options.sloP99Millis = Double.parseDouble(value);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option --" + name);
+			}
+		}
+		if (options.rate <= 0 || options.concurrency <= 0 || options.accounts < 2
+				|| options.createWeight + options.getWeight + options.transferWeight <= 0) {
+			throw new IllegalArgumentException("rate and concurrency must be positive, with at least 2 accounts");
+		}
+		return options;
+	}
+}
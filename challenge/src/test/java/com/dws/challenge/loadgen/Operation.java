@@ -0,0 +1,5 @@
+package com.dws.challenge.loadgen;
+
+enum Operation {
+	CREATE, GET, TRANSFER
+}
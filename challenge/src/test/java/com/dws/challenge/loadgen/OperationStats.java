@@ -0,0 +1,45 @@
+package com.dws.challenge.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ *
+ * Latencies of one operation in nanoseconds. Corrected latency is measured
+ * from the intended start, service time from the actual send. The
+ * {@link System#nanoTime()} of the last completion bounds the window used
+ * for the achieved rate.
+ *
+ */
+class OperationStats {
+
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	final Histogram corrected = new Histogram(SIGNIFICANT_DIGITS);
+	final Histogram serviceTime = new Histogram(SIGNIFICANT_DIGITS);
+	long errors;
+	long lastCompletion = Long.MIN_VALUE;
+
+	static OperationStats[] forAllOperations() {
+		OperationStats[] stats = new OperationStats[Operation.values().length];
+		for (int i = 0; i < stats.length; i++) {
+			stats[i] = new OperationStats();
+		}
+		return stats;
+	}
+
+	void record(long correctedNanos, long serviceNanos, int status, long completedAt) {
+		corrected.recordValue(correctedNanos);
+		serviceTime.recordValue(serviceNanos);
+		lastCompletion = Math.max(lastCompletion, completedAt);
+		if (status < 200 || status >= 300) {
+			errors++;
+		}
+	}
+
+	void add(OperationStats other) {
+		corrected.add(other.corrected);
+		serviceTime.add(other.serviceTime);
+		errors += other.errors;
+		lastCompletion = Math.max(lastCompletion, other.lastCompletion);
+	}
+}